@@ -0,0 +1,80 @@
+package com.blockchain.blockpulseservice.benchmark;
+
+import com.blockchain.blockpulseservice.config.analysis.AnalysisChainConfig;
+import com.blockchain.blockpulseservice.model.AnalysisContext;
+import com.blockchain.blockpulseservice.model.FeeRate;
+import com.blockchain.blockpulseservice.model.MempoolStats;
+import com.blockchain.blockpulseservice.model.Transaction;
+import com.blockchain.blockpulseservice.model.TransactionWindowSnapshot;
+import com.blockchain.blockpulseservice.model.TxId;
+import com.blockchain.blockpulseservice.service.analysis.FeeClassificationAnalyzer;
+import com.blockchain.blockpulseservice.service.analysis.OutlierAnalyzer;
+import com.blockchain.blockpulseservice.service.analysis.SurgeAnalyzer;
+import com.blockchain.blockpulseservice.service.analysis.TransactionAnalyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+
+/**
+ * One pass through the chain wired by {@link AnalysisChainConfig#analysisChain}, on a congested and on a
+ * quiet mempool so both classification branches are exercised.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisChainBenchmark {
+    private static final int TRANSACTIONS = 1024;
+    private static final int CONGESTION_THRESHOLD = 100;
+
+    private TransactionAnalyzer analysisChain;
+    private Transaction[] transactions;
+    private TransactionWindowSnapshot snapshot;
+    private MempoolStats congested;
+    private MempoolStats quiet;
+    private AnalysisContext context;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        analysisChain = new AnalysisChainConfig().analysisChain(new OutlierAnalyzer(),
+                new SurgeAnalyzer(CONGESTION_THRESHOLD),
+                new FeeClassificationAnalyzer(CONGESTION_THRESHOLD));
+        var feeRates = FeeRates.logNormal(TRANSACTIONS, 11);
+        transactions = new Transaction[TRANSACTIONS];
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            transactions[i] = new Transaction(new TxId(0, 0, 0, i), feeRates[i], feeRates[i] * 140 / FeeRate.SCALE, 140, Instant.now(), System.nanoTime());
+        }
+        snapshot = new TransactionWindowSnapshot(100_000, 8_000, 4_000, 1_000, 95_000, 2_000, 9_000);
+        congested = new MempoolStats(20_000, 10_000, 5_000, CONGESTION_THRESHOLD * 10);
+        quiet = new MempoolStats(20_000, 10_000, 5_000, CONGESTION_THRESHOLD / 10);
+        context = new AnalysisContext();
+    }
+
+    @Benchmark
+    public AnalysisContext congestedMempool() {
+        analysisChain.analyze(context.reset(nextTransaction(), snapshot, congested));
+        return context;
+    }
+
+    @Benchmark
+    public AnalysisContext quietMempool() {
+        analysisChain.analyze(context.reset(nextTransaction(), snapshot, quiet));
+        return context;
+    }
+
+    private Transaction nextTransaction() {
+        var transaction = transactions[next];
+        next = (next + 1) & (TRANSACTIONS - 1);
+        return transaction;
+    }
+}
@@ -0,0 +1,65 @@
+package com.blockchain.blockpulseservice.benchmark;
+
+import com.blockchain.blockpulseservice.model.FeeClassification;
+import com.blockchain.blockpulseservice.model.FeeRate;
+import com.blockchain.blockpulseservice.model.PatternType;
+import com.blockchain.blockpulseservice.model.TransactionWindowSnapshotDTO;
+import com.blockchain.blockpulseservice.model.dto.AnalyzedTransactionDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.EnumSet;
+
+/**
+ * JSON encoding of one {@link AnalyzedTransactionDTO} with the Jackson settings from application.yml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyzedTransactionSerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private AnalyzedTransactionDTO analyzedTransaction;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        analyzedTransaction = AnalyzedTransactionDTO.builder()
+                .id("0d2743eb3d900211c5fbac761ec8b80a8e476294c265c5c306eafd4014920e13")
+                .seq(292785)
+                .producedAt(Instant.now())
+                .feePerVByte(FeeRate.toDecimal(5_027))
+                .totalFee(BigDecimal.valueOf(705))
+                .size(141)
+                .timestamp(Instant.ofEpochSecond(1754922473))
+                .patternTypes(EnumSet.of(PatternType.SURGE))
+                .feeClassification(FeeClassification.NORMAL)
+                .isOutlier(true)
+                .windowSnapshot(new TransactionWindowSnapshotDTO(1000, FeeRate.toDecimal(8_214), FeeRate.toDecimal(4_011), 9))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] toJsonBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(analyzedTransaction);
+    }
+}
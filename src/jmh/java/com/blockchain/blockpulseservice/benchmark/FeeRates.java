@@ -0,0 +1,23 @@
+package com.blockchain.blockpulseservice.benchmark;
+
+import com.blockchain.blockpulseservice.model.FeeRate;
+
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic fee rates (milli-sat/vB) with a long right tail, roughly shaped like a busy mempool.
+ */
+final class FeeRates {
+    private FeeRates() {}
+
+    static long[] logNormal(int count, long seed) {
+        var random = new SplittableRandom(seed);
+        var feeRates = new long[count];
+        for (int i = 0; i < count; i++) {
+            // median ~4 sat/vB, p99 ~100 sat/vB
+            var gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+            feeRates[i] = FeeRate.fromDouble(Math.max(1.0, Math.exp(1.4 + 1.4 * gaussian)));
+        }
+        return feeRates;
+    }
+}
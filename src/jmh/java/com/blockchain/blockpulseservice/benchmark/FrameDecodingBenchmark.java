@@ -0,0 +1,70 @@
+package com.blockchain.blockpulseservice.benchmark;
+
+import com.blockchain.blockpulseservice.fixture.RecordedFrames;
+import com.blockchain.blockpulseservice.mapper.MempoolTransactionsDecoder;
+import com.blockchain.blockpulseservice.mapper.TransactionMapper;
+import com.blockchain.blockpulseservice.model.dto.MempoolTransactionsDTOWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Allocation per frame of binding frames to DTOs and mapping them versus streaming them with
+ * {@link MempoolTransactionsDecoder}, whole or in websocket-sized fragments; run with {@code -prof gc}
+ * and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrameDecodingBenchmark {
+    @Param({"9", "1000"})
+    private int frameTransactions;
+
+    private static final int FRAGMENT_SIZE = 65536;
+
+    private String frame;
+    private byte[] frameBytes;
+    private TransactionMapper transactionMapper;
+    private MempoolTransactionsDecoder decoder;
+
+    @Setup
+    public void setUp() {
+        frame = frameTransactions == 9 ? RecordedFrames.recordedFrame() : RecordedFrames.frameWith(frameTransactions);
+        frameBytes = frame.getBytes(StandardCharsets.UTF_8);
+        transactionMapper = new TransactionMapper();
+        decoder = new MempoolTransactionsDecoder(RecordedFrames.OBJECT_MAPPER);
+    }
+
+    @Benchmark
+    public void dtoBindingAndMapping(Blackhole blackhole) throws IOException {
+        var wrapper = RecordedFrames.OBJECT_MAPPER.readValue(frame, MempoolTransactionsDTOWrapper.class);
+        transactionMapper.mapToTransaction(wrapper.mempoolTransactions().added()).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public int streamingDecoder(Blackhole blackhole) throws IOException {
+        return decoder.decode(frame, blackhole::consume);
+    }
+
+    @Benchmark
+    public int fragmentedStreamingDecoder(Blackhole blackhole) throws IOException {
+        var frameDecoder = decoder.newFrameDecoder(blackhole::consume);
+        for (int from = 0; from < frameBytes.length; from += FRAGMENT_SIZE) {
+            frameDecoder.feed(frameBytes, from, Math.min(FRAGMENT_SIZE, frameBytes.length - from));
+        }
+        return frameDecoder.endOfFrame();
+    }
+}
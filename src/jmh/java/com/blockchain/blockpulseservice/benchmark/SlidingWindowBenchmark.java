@@ -0,0 +1,79 @@
+package com.blockchain.blockpulseservice.benchmark;
+
+import com.blockchain.blockpulseservice.service.sliding_window.FeeRateDistribution;
+import com.blockchain.blockpulseservice.service.sliding_window.FeeRateRingBuffer;
+import com.blockchain.blockpulseservice.service.sliding_window.PercentileEngine;
+import com.blockchain.blockpulseservice.service.sliding_window.TransactionWindowSnapshotService;
+import com.blockchain.blockpulseservice.service.sliding_window.TransactionsPercentile;
+import com.blockchain.blockpulseservice.model.TransactionWindowSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Window maintenance as done by the sliding window thread: evict the oldest fee rate, insert the new one,
+ * and take a snapshot, for both percentile engines at several window sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlidingWindowBenchmark {
+    private static final int FEE_RATES = 1 << 20;
+
+    @Param({"1000", "100000", "1000000"})
+    private int windowSize;
+
+    @Param({"EXACT", "HISTOGRAM"})
+    private PercentileEngine engine;
+
+    private long[] feeRates;
+    private int next;
+    private FeeRateRingBuffer arrivalOrder;
+    private FeeRateDistribution distribution;
+    private TransactionWindowSnapshotService snapshotService;
+
+    @Setup
+    public void setUp() {
+        feeRates = FeeRates.logNormal(FEE_RATES, 7);
+        arrivalOrder = new FeeRateRingBuffer(windowSize);
+        distribution = engine.create(windowSize);
+        snapshotService = new TransactionWindowSnapshotService(new TransactionsPercentile(), 0.99);
+        while (!arrivalOrder.isFull()) {
+            insert(nextFeeRate());
+        }
+    }
+
+    @Benchmark
+    public void insertAndEvict() {
+        var oldest = arrivalOrder.removeOldest();
+        distribution.remove(oldest);
+        snapshotService.subtractFee(oldest);
+        insert(nextFeeRate());
+    }
+
+    @Benchmark
+    public TransactionWindowSnapshot snapshot() {
+        return snapshotService.takeCurrentWindowSnapshot(distribution);
+    }
+
+    private void insert(long feeRate) {
+        arrivalOrder.add(feeRate);
+        distribution.add(feeRate);
+        snapshotService.addFee(feeRate);
+    }
+
+    private long nextFeeRate() {
+        var feeRate = feeRates[next];
+        next = (next + 1) & (FEE_RATES - 1);
+        return feeRate;
+    }
+}
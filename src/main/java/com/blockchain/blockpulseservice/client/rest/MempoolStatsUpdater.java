@@ -1,10 +1,13 @@
 package com.blockchain.blockpulseservice.client.rest;
 
+import com.blockchain.blockpulseservice.event.MempoolDataUpdatedEvent;
 import com.blockchain.blockpulseservice.model.dto.RecommendedTransactionFeeDTO;
 import com.blockchain.blockpulseservice.model.dto.MempoolInfoDTO;
+import com.blockchain.blockpulseservice.model.FeeRate;
 import com.blockchain.blockpulseservice.model.MempoolStats;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -15,6 +18,12 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+/**
+ * Current {@link MempoolStats}, published as {@link MempoolDataUpdatedEvent} on every change. The websocket
+ * {@code stats} channel pushes them with the mempool frames; the REST endpoints are only polled while no
+ * push has arrived for {@code app.mempool.stats.push-stale-after-ms}, e.g. before the first one or while the
+ * upstream is disconnected.
+ */
 @Slf4j
 @Service
 public class MempoolStatsUpdater {
@@ -23,18 +32,59 @@ public class MempoolStatsUpdater {
     private final String feeApiUrl;
     private final String mempoolInfoUrl;
     private final RestTemplate restTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long pushStaleAfterNanos;
     private volatile MempoolStats mempoolStats;
+    // written by the websocket frame decoding only
+    private RecommendedTransactionFeeDTO pushedFees;
+    private MempoolInfoDTO pushedMempoolInfo;
+    private boolean pushPending;
+    private volatile long lastPushNanos;
+    private volatile boolean pushed;
 
     public MempoolStatsUpdater(@Value("${app.mempool.space.rest.fee-api-url}") String feeApiUrl,
                                @Value("${app.mempool.space.rest.mempool-info-api-url}") String mempoolInfoUrl,
-                               RestTemplate restTemplate) {
+                               @Value("${app.mempool.stats.push-stale-after-ms:30000}") long pushStaleAfterMs,
+                               RestTemplate restTemplate,
+                               ApplicationEventPublisher eventPublisher) {
         this.feeApiUrl = feeApiUrl;
         this.mempoolInfoUrl = mempoolInfoUrl;
+        this.pushStaleAfterNanos = TimeUnit.MILLISECONDS.toNanos(pushStaleAfterMs);
         this.restTemplate = restTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void feesPushed(RecommendedTransactionFeeDTO fees) {
+        pushedFees = fees;
+        pushPending = true;
+    }
+
+    public void mempoolInfoPushed(MempoolInfoDTO mempoolInfo) {
+        pushedMempoolInfo = mempoolInfo;
+        pushPending = true;
+    }
+
+    /**
+     * Applies what was pushed since the last call, once both fees and mempool info are known. Called at the
+     * end of every frame, so a frame carrying both yields a single update.
+     */
+    public void applyPushedStats() {
+        if (!pushPending || pushedFees == null || pushedMempoolInfo == null) {
+            return;
+        }
+        pushPending = false;
+        lastPushNanos = System.nanoTime();
+        pushed = true;
+        update(mapToMempoolInfo(pushedFees, pushedMempoolInfo));
     }
 
     @Scheduled(fixedRate = 10000) // Every 10 seconds
     public void updateMempoolData() {
+        if (isPushFresh()) {
+            log.trace("Stats pushed {} ms ago, skipping the REST poll",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastPushNanos));
+            return;
+        }
         var feeFuture = CompletableFuture
                 .supplyAsync(fetchFeeData(), ioExecutor)
                 .orTimeout(REQUEST_TIMEOUT, TimeUnit.SECONDS)
@@ -57,8 +107,9 @@ public class MempoolStatsUpdater {
             return null;
         }).thenAccept(mempoolStats -> {
             if (mempoolStats != null) {
-                this.mempoolStats = mempoolStats;
-                log.debug("Updated mempool data: {}", mempoolStats);
+                if (!isPushFresh()) {
+                    update(mempoolStats);
+                }
             } else {
                 log.warn("Skipping update due to missing data.");
             }
@@ -68,6 +119,19 @@ public class MempoolStatsUpdater {
         });
     }
 
+    private void update(MempoolStats mempoolStats) {
+        if (mempoolStats.equals(this.mempoolStats)) {
+            return;
+        }
+        this.mempoolStats = mempoolStats;
+        log.debug("Updated mempool data: {}", mempoolStats);
+        eventPublisher.publishEvent(new MempoolDataUpdatedEvent(this, mempoolStats));
+    }
+
+    private boolean isPushFresh() {
+        return pushed && System.nanoTime() - lastPushNanos < pushStaleAfterNanos;
+    }
+
     private Supplier<RecommendedTransactionFeeDTO> fetchFeeData() {
         return () -> restTemplate.getForObject(feeApiUrl, RecommendedTransactionFeeDTO.class);
     }
@@ -77,7 +141,10 @@ public class MempoolStatsUpdater {
     }
 
     private MempoolStats mapToMempoolInfo(RecommendedTransactionFeeDTO feeDto, MempoolInfoDTO mempoolInfoDTO) {
-        return new MempoolStats(feeDto.fastestFee(), feeDto.halfHourFee(), feeDto.hourFee(), mempoolInfoDTO.memPoolSize());
+        return new MempoolStats(FeeRate.fromDouble(feeDto.fastestFee()),
+                FeeRate.fromDouble(feeDto.halfHourFee()),
+                FeeRate.fromDouble(feeDto.hourFee()),
+                mempoolInfoDTO.memPoolSize());
     }
 
     public MempoolStats getMempoolStats() {
@@ -11,7 +11,6 @@ import org.springframework.web.socket.client.WebSocketClient;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.function.Consumer;
 
 @Slf4j
 public abstract class BaseWebSocketSessionClient implements WebSocketHandler {
@@ -22,17 +21,17 @@ public abstract class BaseWebSocketSessionClient implements WebSocketHandler {
     private final ReconnectionManager reconnectionManager;
     private final WebSocketMessageHandler messageHandler;
     private final WebSocketMessageSender messageSender;
-    private final int messageSizeLimit;
+    private final int fragmentBufferSize;
 
     protected BaseWebSocketSessionClient(URI serverUri,
-                                         int messageSizeLimit,
+                                         int fragmentBufferSize,
                                          WebSocketClient webSocketClient,
                                          ConnectionStateManager connectionState,
                                          ReconnectionManager reconnectionManager,
                                          WebSocketMessageHandler messageHandler,
                                          WebSocketMessageSender messageSender) {
         this.serverUri = serverUri;
-        this.messageSizeLimit = messageSizeLimit;
+        this.fragmentBufferSize = fragmentBufferSize;
         this.webSocketClient = webSocketClient;
         this.connectionState = connectionState;
         this.reconnectionManager = reconnectionManager;
@@ -59,7 +58,8 @@ public abstract class BaseWebSocketSessionClient implements WebSocketHandler {
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
         this.session = session;
-        this.session.setTextMessageSizeLimit(messageSizeLimit);
+        // frames larger than this are delivered as several partial messages
+        this.session.setTextMessageSizeLimit(fragmentBufferSize);
         connectionState.setConnected(true);
 
         log.info("WebSocket connected to: {}", serverUri);
@@ -73,8 +73,7 @@ public abstract class BaseWebSocketSessionClient implements WebSocketHandler {
 
     @Override
     public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) {
-        Consumer<String> consumer = this::processMessage;
-        messageHandler.handleMessage(message, consumer, serverUri);
+        messageHandler.handleMessage(message, this::processFragment, serverUri);
     }
 
     @Override
@@ -91,11 +90,16 @@ public abstract class BaseWebSocketSessionClient implements WebSocketHandler {
 
     @Override
     public boolean supportsPartialMessages() {
-        return false;
+        return true;
     }
 
     private void handleConnectionLoss() {
         connectionState.setConnected(false);
+        try {
+            onConnectionClosed();
+        } catch (Exception e) {
+            log.error("Error in connection closed callback", e);
+        }
         reconnectionManager.scheduleReconnect(this::connect, serverUri);
     }
 
@@ -103,6 +107,14 @@ public abstract class BaseWebSocketSessionClient implements WebSocketHandler {
         messageSender.sendMessage(session, message, serverUri, this::connect);
     }
 
+    /**
+     * Drops the current session, e.g. when it stopped delivering frames; the close schedules a reconnect.
+     */
+    public void reconnect() {
+        log.info("Reopening connection to {}", serverUri);
+        closeSession();
+    }
+
     public void disconnect() {
         reconnectionManager.cancelReconnect();
         closeSession();
@@ -125,5 +137,12 @@ public abstract class BaseWebSocketSessionClient implements WebSocketHandler {
     }
 
     protected abstract void onConnectionEstablished(WebSocketSession session);
-    protected abstract void processMessage(String message);
+
+    protected void onConnectionClosed() {
+    }
+
+    /**
+     * @param last whether this fragment completes the current frame
+     */
+    protected abstract void processFragment(String fragment, boolean last);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.blockchain.blockpulseservice.client.ws;
+
+/**
+ * Upstream connection to the mempool.space websocket feed, selected by {@code app.websocket.client}.
+ * Implementations hand every received fragment to {@link MempoolFrameHandler} and reconnect on their own.
+ */
+public interface MempoolFeedClient {
+    String TRACK_MEMPOOL_SUBSCRIPTION = "{ \"track-mempool\": true }";
+    /** Pushes {@code mempoolInfo} and {@code fees} whenever mempool.space refreshes its stats. */
+    String WANT_STATS_SUBSCRIPTION = "{ \"action\": \"want\", \"data\": [\"stats\"] }";
+
+    void connect();
+
+    void disconnect();
+}
@@ -0,0 +1,436 @@
+package com.blockchain.blockpulseservice.client.ws;
+
+import com.blockchain.blockpulseservice.client.rest.MempoolStatsUpdater;
+import com.blockchain.blockpulseservice.client.ws.capture.FrameCapture;
+import com.blockchain.blockpulseservice.mapper.MempoolDeltaListener;
+import com.blockchain.blockpulseservice.mapper.MempoolFrameDecoder;
+import com.blockchain.blockpulseservice.mapper.MempoolTransactionsDecoder;
+import com.blockchain.blockpulseservice.model.Transaction;
+import com.blockchain.blockpulseservice.model.TxId;
+import com.blockchain.blockpulseservice.model.dto.MempoolInfoDTO;
+import com.blockchain.blockpulseservice.model.dto.RecommendedTransactionFeeDTO;
+import com.blockchain.blockpulseservice.service.mempool.MempoolMirror;
+import com.blockchain.blockpulseservice.service.mempool.ProjectedBlockEstimator;
+import com.blockchain.blockpulseservice.service.sliding_window.SlidingWindowManager;
+import com.blockchain.blockpulseservice.tracing.FrameParsedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Turns the fragments of upstream connections into deltas for the sliding window and the mempool mirror,
+ * whichever {@link MempoolFeedClient} receives them. Every connection gets its own {@link Session} with its
+ * own incremental decoder.
+ * <p>
+ * With a hot standby (see {@code app.upstream.redundant}) two sessions receive the same feed. The deltas of
+ * both go to the sliding window, whose txid dedup drops the second copy, and to the mirror, where adding a
+ * known txid is a no-op and removing an unknown one is ignored, so a dying connection leaves no hole in
+ * either. Only the primary session refreshes the projection and feeds the pushed stats, the frame capture and
+ * the frame metrics. The primary is replaced by the standby as soon as it closes, or
+ * when it has made no progress for {@code app.upstream.stale-after-ms} while the standby has; the stale
+ * connection is then reopened. Progress is a completed frame or a transaction handed to the sliding window,
+ * and a session waiting for room in the ingest buffer is backpressured rather than stale. The check runs on
+ * its own thread every {@code app.upstream.stale-check-ms}.
+ * <p>
+ * Each session decodes on its own client's thread. Only the mirror and projection updates and the role
+ * changes are made under this handler's lock, which keeps the mirror single-writer; handing transactions to
+ * the sliding window, which waits for room under the block policy, happens outside it.
+ */
+@Slf4j
+@Component
+public class MempoolFrameHandler {
+    private final MempoolTransactionsDecoder transactionsDecoder;
+    private final SlidingWindowManager slidingWindowManager;
+    private final MempoolMirror mempoolMirror;
+    private final ProjectedBlockEstimator projectedBlockEstimator;
+    private final MempoolStatsUpdater mempoolStatsUpdater;
+    private final FrameCapture frameCapture;
+    private final long staleAfterNanos;
+    private final long staleCheckMs;
+    private final ScheduledExecutorService stalenessChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "upstream-staleness-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final DistributionSummary frameSize;
+    private final Timer frameParseTimer;
+    private final Counter promotions;
+    private final List<Session> sessions = new CopyOnWriteArrayList<>();
+    // read without the lock by the decoding threads
+    private volatile Session primary;
+
+    public MempoolFrameHandler(MempoolTransactionsDecoder transactionsDecoder,
+                               SlidingWindowManager slidingWindowManager,
+                               MempoolMirror mempoolMirror,
+                               ProjectedBlockEstimator projectedBlockEstimator,
+                               MempoolStatsUpdater mempoolStatsUpdater,
+                               MeterRegistry meterRegistry,
+                               FrameCapture frameCapture,
+                               @Value("${app.upstream.stale-after-ms:5000}") long staleAfterMs,
+                               @Value("${app.upstream.stale-check-ms:500}") long staleCheckMs) {
+        this.transactionsDecoder = transactionsDecoder;
+        this.slidingWindowManager = slidingWindowManager;
+        this.mempoolMirror = mempoolMirror;
+        this.projectedBlockEstimator = projectedBlockEstimator;
+        this.mempoolStatsUpdater = mempoolStatsUpdater;
+        this.frameCapture = frameCapture;
+        this.staleAfterNanos = TimeUnit.MILLISECONDS.toNanos(staleAfterMs);
+        this.staleCheckMs = staleCheckMs;
+        this.frameSize = DistributionSummary.builder("blockpulse.websocket.frame.size")
+                .description("Size of complete mempool.space text frames")
+                .baseUnit("chars")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(64.0)
+                .maximumExpectedValue(64.0 * 1024 * 1024)
+                .register(meterRegistry);
+        // includes handing transactions to the ingest buffer, which waits for room under the block policy
+        this.frameParseTimer = Timer.builder("blockpulse.websocket.frame.parse")
+                .description("Time spent decoding the fragments of one frame, excluding waits for the network")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(meterRegistry);
+        this.promotions = Counter.builder("blockpulse.upstream.promotions")
+                .description("Standby connections promoted to primary after the primary closed or went stale")
+                .register(meterRegistry);
+        Gauge.builder("blockpulse.upstream.connected", this, MempoolFrameHandler::connectedSessions)
+                .description("Open upstream connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param reconnect reopens the connection, called when the session is demoted for being stale
+     */
+    public synchronized Session newSession(String name, Runnable reconnect) {
+        var session = new Session(name, reconnect);
+        sessions.add(session);
+        return session;
+    }
+
+    @PostConstruct
+    private void startStalenessCheck() {
+        stalenessChecker.scheduleWithFixedDelay(this::checkStaleness, staleCheckMs, staleCheckMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    private void stopStalenessCheck() {
+        stalenessChecker.shutdownNow();
+    }
+
+    private void checkStaleness() {
+        try {
+            Session stale;
+            synchronized (this) {
+                var now = System.nanoTime();
+                if (primary == null || !primary.connected || !primary.isStale(now)) {
+                    return;
+                }
+                var standby = freshestStandby(now);
+                if (standby == null) {
+                    return;
+                }
+                stale = primary;
+                log.warn("No progress from {} for {} ms, promoting {}", stale.name,
+                        TimeUnit.NANOSECONDS.toMillis(now - stale.lastProgressNanos), standby.name);
+                promote(standby);
+            }
+            // outside the lock, closing may synchronously report the disconnection
+            stale.reconnect.run();
+        } catch (RuntimeException e) {
+            // an exception would cancel the periodic check
+            log.error("Failed to check upstream staleness", e);
+        }
+    }
+
+    private int connectedSessions() {
+        return (int) sessions.stream().filter(session -> session.connected).count();
+    }
+
+    private Session freshestStandby(long now) {
+        Session freshest = null;
+        for (var session : sessions) {
+            if (session != primary && session.connected && !session.isStale(now)
+                    && (freshest == null || session.lastProgressNanos - freshest.lastProgressNanos > 0)) {
+                freshest = session;
+            }
+        }
+        return freshest;
+    }
+
+    private void promote(Session standby) {
+        if (primary != null) {
+            primary.capturing = false;
+        }
+        primary = standby;
+        // its current frame was already partly decoded as standby, capture starts with the next one
+        standby.capturing = false;
+        promotions.increment();
+    }
+
+    /**
+     * One upstream connection. Must be fed sequentially by its client; the decoder and the frame metrics are
+     * only touched under the session's own lock, the role and capture state under the handler's.
+     */
+    public final class Session {
+        private final String name;
+        private final Runnable reconnect;
+        private final MempoolFrameDecoder frameDecoder;
+        // read without the lock by the connection gauge
+        private volatile boolean connected;
+        // set by the connection callbacks, the decoder is reset before the next fragment
+        private volatile boolean resetPending;
+        // read by the staleness check without the session's lock
+        private volatile boolean waitingForIngest;
+        private volatile long lastProgressNanos;
+        private boolean midFrame;
+        private boolean capturing;
+        private long frameLength;
+        private long frameParseNanos;
+        private FrameParsedEvent frameParsedEvent;
+
+        private Session(String name, Runnable reconnect) {
+            this.name = name;
+            this.reconnect = reconnect;
+            this.frameDecoder = transactionsDecoder.newFrameDecoder(new MempoolDeltaListener() {
+                @Override
+                public void added(Transaction transaction) {
+                    synchronized (MempoolFrameHandler.this) {
+                        mempoolMirror.added(transaction);
+                    }
+                    waitingForIngest = true;
+                    try {
+                        slidingWindowManager.addTransaction(transaction);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        // unwinds the decoder, the rest of the frame is abandoned
+                        throw new CancellationException("Interrupted while waiting for room in the ingest buffer");
+                    } finally {
+                        waitingForIngest = false;
+                        lastProgressNanos = System.nanoTime();
+                    }
+                }
+
+                @Override
+                public void removed(TxId txid) {
+                    synchronized (MempoolFrameHandler.this) {
+                        mempoolMirror.removed(txid);
+                    }
+                }
+
+                @Override
+                public void mined(TxId txid) {
+                    synchronized (MempoolFrameHandler.this) {
+                        mempoolMirror.mined(txid);
+                    }
+                }
+
+                @Override
+                public void replaced(TxId replacedTxid, Transaction replacement) {
+                    synchronized (MempoolFrameHandler.this) {
+                        mempoolMirror.replaced(replacedTxid, replacement);
+                    }
+                }
+
+                @Override
+                public void fees(RecommendedTransactionFeeDTO fees) {
+                    synchronized (MempoolFrameHandler.this) {
+                        if (isPrimary()) {
+                            mempoolStatsUpdater.feesPushed(fees);
+                        }
+                    }
+                }
+
+                @Override
+                public void mempoolInfo(MempoolInfoDTO mempoolInfo) {
+                    synchronized (MempoolFrameHandler.this) {
+                        if (isPrimary()) {
+                            mempoolStatsUpdater.mempoolInfoPushed(mempoolInfo);
+                        }
+                    }
+                }
+
+                @Override
+                public void frameDecoded() {
+                    synchronized (MempoolFrameHandler.this) {
+                        if (isPrimary()) {
+                            projectedBlockEstimator.update();
+                            mempoolStatsUpdater.applyPushedStats();
+                        }
+                    }
+                }
+            });
+        }
+
+        public void connectionEstablished() {
+            synchronized (MempoolFrameHandler.this) {
+                connected = true;
+                lastProgressNanos = System.nanoTime();
+                // a frame cut short by the previous connection must not leak into the first one of this connection
+                resetPending = true;
+                if (primary == null || primary == this || !primary.connected) {
+                    log.info("Upstream {} is primary", name);
+                    primary = this;
+                    capturing = true;
+                    frameCapture.connected();
+                    // deltas sent while nothing was connected are lost, stale entries would never be removed
+                    mempoolMirror.clear();
+                } else {
+                    log.info("Upstream {} is standby for {}", name, primary.name);
+                    capturing = false;
+                }
+            }
+        }
+
+        public void connectionClosed() {
+            synchronized (MempoolFrameHandler.this) {
+                connected = false;
+                // not reset here: the decoding thread may still be waiting for the ingest buffer
+                resetPending = true;
+                if (primary == this) {
+                    var standby = freshestStandby(System.nanoTime());
+                    if (standby != null) {
+                        log.warn("Upstream {} closed, promoting {}", name, standby.name);
+                        promote(standby);
+                    }
+                }
+            }
+        }
+
+        public void fragment(String fragment, boolean last) {
+            synchronized (this) {
+                resetIfReconnected();
+                synchronized (MempoolFrameHandler.this) {
+                    if (capture(last)) {
+                        frameCapture.fragment(fragment, last);
+                    }
+                }
+                decodeFragment(() -> frameDecoder.feed(fragment), fragment.length(), last, () -> fragment);
+            }
+        }
+
+        /**
+         * A fragment as UTF-8 bytes; the array may be reused by the caller once this returns.
+         */
+        public void fragment(byte[] bytes, int offset, int length, boolean last) {
+            synchronized (this) {
+                resetIfReconnected();
+                synchronized (MempoolFrameHandler.this) {
+                    if (capture(last)) {
+                        frameCapture.fragment(bytes, offset, length, last);
+                    }
+                }
+                decodeFragment(() -> frameDecoder.feed(bytes, offset, length), length, last,
+                        () -> new String(bytes, offset, Math.min(200, length), StandardCharsets.UTF_8));
+            }
+        }
+
+        private boolean isPrimary() {
+            return primary == this;
+        }
+
+        private boolean isStale(long now) {
+            return !waitingForIngest && now - lastProgressNanos > staleAfterNanos;
+        }
+
+        private void resetIfReconnected() {
+            if (resetPending) {
+                resetPending = false;
+                frameDecoder.reset();
+                midFrame = false;
+                resetFrameMetrics();
+            }
+        }
+
+        private boolean capture(boolean last) {
+            var frameStart = !midFrame;
+            midFrame = !last;
+            if (isPrimary() && !capturing && frameStart) {
+                // promoted: mark a new connection in the capture so a replay resets its decoder here
+                frameCapture.connected();
+                capturing = true;
+            }
+            return isPrimary() && capturing;
+        }
+
+        private void decodeFragment(FragmentFeed feed, int length, boolean last, Supplier<String> preview) {
+            var start = System.nanoTime();
+            if (frameParsedEvent == null) {
+                frameParsedEvent = new FrameParsedEvent();
+                frameParsedEvent.begin();
+            }
+            try {
+                feed.feed();
+                frameLength += length;
+                if (last) {
+                    var decoded = frameDecoder.endOfFrame();
+                    var end = System.nanoTime();
+                    lastProgressNanos = end;
+                    frameParseNanos += end - start;
+                    if (isPrimary()) {
+                        frameSize.record(frameLength);
+                        frameParseTimer.record(frameParseNanos, TimeUnit.NANOSECONDS);
+                        commitFrameParsedEvent(decoded);
+                    }
+                    resetFrameMetrics();
+                    log.debug("Decoded {} transactions from {}", decoded, name);
+                } else {
+                    frameParseNanos += System.nanoTime() - start;
+                }
+            } catch (CancellationException e) {
+                log.warn("Interrupted while handing over transactions from {}, dropping the rest of the frame", name);
+                abandonFrame(last);
+            } catch (Exception e) {
+                var fragment = preview.get();
+                log.error("Error processing mempool.space frame fragment from {}: {}", name, fragment.substring(0, Math.min(200, fragment.length())), e);
+                abandonFrame(last);
+            }
+        }
+
+        private void abandonFrame(boolean last) {
+            frameDecoder.discardFrame();
+            if (last) {
+                frameDecoder.reset();
+                resetFrameMetrics();
+            }
+        }
+
+        private void commitFrameParsedEvent(int decoded) {
+            frameParsedEvent.end();
+            if (frameParsedEvent.shouldCommit()) {
+                frameParsedEvent.length = frameLength;
+                frameParsedEvent.transactions = decoded;
+                frameParsedEvent.parseTime = frameParseNanos;
+                frameParsedEvent.commit();
+            }
+        }
+
+        private void resetFrameMetrics() {
+            frameLength = 0;
+            frameParseNanos = 0;
+            frameParsedEvent = null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface FragmentFeed {
+        void feed() throws IOException;
+    }
+}
@@ -0,0 +1,158 @@
+package com.blockchain.blockpulseservice.client.ws;
+
+import com.blockchain.blockpulseservice.config.ws.client.WebSocketReconnectionProperties;
+import com.blockchain.blockpulseservice.tracing.FrameReceivedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.WebsocketClientSpec;
+import reactor.util.retry.Retry;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking alternative to {@link MempoolSpaceWebSocketClient} on Reactor Netty: connecting, receiving and
+ * reconnecting run on the shared Netty event loops, with no thread per connection or blocking connect.
+ * <p>
+ * Frames are decoded on one dedicated thread that requests only a couple of frames ahead. While the ingest
+ * buffer blocks that thread, demand stops, Reactor Netty stops reading the socket and TCP pushes back on the
+ * upstream. Each frame buffer is streamed into the decoder in chunks of a reused array and then released.
+ * Failed connection attempts back off exponentially; the attempt count starts over after every successful
+ * connection, and a connection closed by the server is reopened after the initial delay. Created per upstream
+ * by {@link com.blockchain.blockpulseservice.config.ws.client.MempoolFeedClientConfig}.
+ */
+@Slf4j
+public class ReactorNettyMempoolClient implements MempoolFeedClient {
+    // frames requested ahead of the decoder, each holds a whole aggregated frame in memory
+    private static final int FRAME_PREFETCH = 2;
+
+    private final URI serverUri;
+    private final ReactorNettyWebSocketClient webSocketClient;
+    private final MempoolFrameHandler.Session frameSession;
+    private final WebSocketReconnectionProperties reconnection;
+    private final Scheduler frameScheduler;
+    private final AtomicInteger failedAttempts = new AtomicInteger();
+    private final byte[] chunk;
+    private volatile Disposable connection;
+
+    public ReactorNettyMempoolClient(String name,
+                                     URI serverUri,
+                                     int fragmentBufferSize,
+                                     int maxFrameSizeMb,
+                                     MempoolFrameHandler frameHandler,
+                                     WebSocketReconnectionProperties reconnection) {
+        if (maxFrameSizeMb <= 0 || maxFrameSizeMb >= 2048) {
+            throw new IllegalArgumentException("app.websocket.max-frame-size-mb must be between 1 and 2047: " + maxFrameSizeMb);
+        }
+        this.serverUri = serverUri;
+        // Spring aggregates continuation frames, so a whole frame must fit
+        this.webSocketClient = new ReactorNettyWebSocketClient(HttpClient.create(),
+                () -> WebsocketClientSpec.builder().maxFramePayloadLength(maxFrameSizeMb << 20));
+        this.frameSession = frameHandler.newSession(name, this::reconnect);
+        this.reconnection = reconnection;
+        this.frameScheduler = Schedulers.newSingle("mempool-frames-" + name);
+        this.chunk = new byte[fragmentBufferSize];
+    }
+
+    @Override
+    public synchronized void connect() {
+        if (connection != null && !connection.isDisposed()) {
+            log.debug("Already connected to {}", serverUri);
+            return;
+        }
+        var initialDelay = Duration.ofSeconds(reconnection.initialDelaySeconds());
+        connection = Mono.defer(() -> {
+                    log.info("Connecting to WebSocket: {}", serverUri);
+                    return webSocketClient.execute(serverUri, this::handle);
+                })
+                .doOnError(e -> log.error("WebSocket connection to {} failed", serverUri, e))
+                .retryWhen(Retry.from(failures -> failures.concatMap(failure -> {
+                    var attempt = failedAttempts.incrementAndGet();
+                    if (attempt > reconnection.maxAttempts()) {
+                        return Mono.error(failure.failure());
+                    }
+                    log.info("Reconnect attempt {} for {}", attempt, serverUri);
+                    return Mono.delay(backoff(attempt));
+                })))
+                .repeatWhen(closed -> closed.doOnNext(ignored -> log.warn("WebSocket connection closed for {}", serverUri))
+                        .delayElements(initialDelay))
+                .subscribe(null, e -> log.error("Giving up on {} after {} attempts", serverUri, reconnection.maxAttempts()));
+    }
+
+    @Override
+    public synchronized void disconnect() {
+        if (connection != null) {
+            connection.dispose();
+        }
+        log.info("Disconnected from {}", serverUri);
+    }
+
+    /**
+     * Drops the current connection, e.g. when it stopped delivering frames, and opens a new one.
+     */
+    public void reconnect() {
+        log.info("Reopening connection to {}", serverUri);
+        disconnect();
+        connect();
+    }
+
+    public void close() {
+        disconnect();
+        frameScheduler.dispose();
+    }
+
+    private Mono<Void> handle(WebSocketSession session) {
+        log.info("WebSocket connected to: {}", serverUri);
+        failedAttempts.set(0);
+        // Reactor Netty releases a frame once it is handed off, keep it until the frame thread is done with it
+        var frames = session.receive()
+                .map(WebSocketMessage::retain)
+                .publishOn(frameScheduler, FRAME_PREFETCH)
+                .doOnNext(this::processFrame)
+                .doOnDiscard(WebSocketMessage.class, WebSocketMessage::release)
+                .then();
+        var subscription = session.send(Flux.just(TRACK_MEMPOOL_SUBSCRIPTION, WANT_STATS_SUBSCRIPTION).map(session::textMessage))
+                .doOnSuccess(ignored -> log.info("Subscribed to track mempool transactions and stats"));
+        // the decoder is only touched from the frame thread, reset it there before the first frame
+        return Mono.fromRunnable(frameSession::connectionEstablished)
+                .subscribeOn(frameScheduler)
+                .then(subscription.and(frames))
+                .doFinally(signal -> frameScheduler.schedule(frameSession::connectionClosed));
+    }
+
+    private void processFrame(WebSocketMessage message) {
+        try {
+            if (message.getType() != WebSocketMessage.Type.TEXT) {
+                return;
+            }
+            var payload = message.getPayload();
+            var event = new FrameReceivedEvent();
+            if (event.shouldCommit()) {
+                event.length = payload.readableByteCount();
+                event.last = true;
+                event.commit();
+            }
+            do {
+                var length = Math.min(chunk.length, payload.readableByteCount());
+                payload.read(chunk, 0, length);
+                frameSession.fragment(chunk, 0, length, payload.readableByteCount() == 0);
+            } while (payload.readableByteCount() > 0);
+        } finally {
+            message.release();
+        }
+    }
+
+    private Duration backoff(int attempt) {
+        var seconds = (long) reconnection.initialDelaySeconds() << Math.min(attempt - 1, 20);
+        return Duration.ofSeconds(Math.min(seconds, reconnection.maxDelaySeconds()));
+    }
+}
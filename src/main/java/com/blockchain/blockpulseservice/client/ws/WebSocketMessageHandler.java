@@ -1,21 +1,33 @@
 package com.blockchain.blockpulseservice.client.ws;
 
+import com.blockchain.blockpulseservice.tracing.FrameReceivedEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketMessage;
 
 import java.net.URI;
-import java.util.function.Consumer;
 
 @Slf4j
 @Component
 public class WebSocketMessageHandler {
-    public void handleMessage(WebSocketMessage<?> message, Consumer<String> messageConsumer, URI serverUri) {
+    public void handleMessage(WebSocketMessage<?> message, FragmentConsumer fragmentConsumer, URI serverUri) {
         if (message instanceof TextMessage textMessage) {
             var payload = textMessage.getPayload();
-            log.debug("Received message from {}: {}", serverUri, payload.substring(0, Math.min(200, payload.length())));
-            messageConsumer.accept(payload);
+            log.debug("Received {} fragment from {}: {}", textMessage.isLast() ? "last" : "partial",
+                    serverUri, payload.substring(0, Math.min(200, payload.length())));
+            var event = new FrameReceivedEvent();
+            if (event.shouldCommit()) {
+                event.length = payload.length();
+                event.last = textMessage.isLast();
+                event.commit();
+            }
+            fragmentConsumer.accept(payload, textMessage.isLast());
         }
     }
-}
\ No newline at end of file
+
+    @FunctionalInterface
+    public interface FragmentConsumer {
+        void accept(String fragment, boolean last);
+    }
+}
@@ -0,0 +1,86 @@
+package com.blockchain.blockpulseservice.client.ws.capture;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional capture of the raw mempool.space fragments into a {@link FrameLogWriter} for later replay by
+ * {@link FrameReplaySource}. Every application run writes to its own {@code capture-<timestamp>} directory.
+ * A write failure stops the capture, never the ingest.
+ */
+@Slf4j
+@Component
+public class FrameCapture {
+    private static final DateTimeFormatter RUN_DIRECTORY = DateTimeFormatter.ofPattern("'capture-'yyyyMMdd-HHmmss");
+
+    private final long baseEpochMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    private final long baseNanos = System.nanoTime();
+    private FrameLogWriter writer;
+
+    public FrameCapture(@Value("${app.capture.enabled:false}") boolean enabled,
+                        @Value("${app.capture.directory:captures}") String directory,
+                        @Value("${app.capture.segment-size-mb:64}") int segmentSizeMb,
+                        @Value("${app.replay.enabled:false}") boolean replaying) throws IOException {
+        // segments are memory mapped, a single mapping is limited to 2 GB
+        if (segmentSizeMb <= 0 || segmentSizeMb >= 2048) {
+            throw new IllegalArgumentException("app.capture.segment-size-mb must be between 1 and 2047: " + segmentSizeMb);
+        }
+        if (enabled && replaying) {
+            log.warn("Frame capture is disabled while replaying a capture");
+        } else if (enabled) {
+            var runDirectory = Path.of(directory).resolve(RUN_DIRECTORY.format(LocalDateTime.now()));
+            this.writer = new FrameLogWriter(runDirectory, segmentSizeMb << 20);
+        }
+    }
+
+    public synchronized void fragment(String fragment, boolean last) {
+        append(new FrameRecord(nowMicros(), last, false, fragment));
+    }
+
+    /**
+     * Byte counterpart of {@link #fragment(String, boolean)}; only decoded into a String while capturing.
+     * Fragments are expected to end on character boundaries, which holds for the ASCII-only feed.
+     */
+    public synchronized void fragment(byte[] bytes, int offset, int length, boolean last) {
+        if (writer != null) {
+            append(new FrameRecord(nowMicros(), last, false, new String(bytes, offset, length, StandardCharsets.UTF_8)));
+        }
+    }
+
+    public synchronized void connected() {
+        append(new FrameRecord(nowMicros(), false, true, ""));
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void append(FrameRecord record) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.append(record);
+        } catch (IOException e) {
+            log.error("Stopping frame capture after a write failure", e);
+            close();
+        }
+    }
+
+    private long nowMicros() {
+        return baseEpochMicros + TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - baseNanos);
+    }
+}
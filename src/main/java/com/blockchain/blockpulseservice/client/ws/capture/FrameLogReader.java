@@ -0,0 +1,79 @@
+package com.blockchain.blockpulseservice.client.ws.capture;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the segments written by {@link FrameLogWriter} in order, mapping one segment at a time.
+ */
+public class FrameLogReader implements Iterator<FrameRecord> {
+    private final Path directory;
+    private int segmentIndex = -1;
+    private MappedByteBuffer segment;
+    private FrameRecord next;
+
+    public FrameLogReader(Path directory) throws IOException {
+        if (!Files.exists(FrameLogWriter.segmentPath(directory, 0))) {
+            throw new IOException("No frame log segments in " + directory);
+        }
+        this.directory = directory;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public FrameRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var record = next;
+        next = null;
+        return record;
+    }
+
+    private FrameRecord readNext() {
+        while (true) {
+            if (segment != null && segment.remaining() >= FrameLogWriter.RECORD_HEADER_SIZE) {
+                var length = segment.getInt();
+                if (length > 0) {
+                    var receivedAtMicros = segment.getLong();
+                    var flags = segment.get();
+                    var payload = new byte[length - 1];
+                    segment.get(payload);
+                    return FrameRecord.of(receivedAtMicros, flags, new String(payload, StandardCharsets.UTF_8));
+                }
+            }
+            if (!openNextSegment()) {
+                return null;
+            }
+        }
+    }
+
+    private boolean openNextSegment() {
+        var path = FrameLogWriter.segmentPath(directory, segmentIndex + 1);
+        if (!Files.exists(path)) {
+            segment = null;
+            return false;
+        }
+        segmentIndex++;
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return true;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to map frame log segment " + path, e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.blockchain.blockpulseservice.client.ws.capture;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only log of {@link FrameRecord}s in memory-mapped segment files {@code frames-000000.log},
+ * {@code frames-000001.log}, ... Each record is {@code i32 length + 1, i64 epoch micros, u8 flags,
+ * UTF-8 fragment}; a zero length ends a segment, which is also what the zero-filled unused tail of a
+ * mapped file reads as. Not thread-safe.
+ */
+@Slf4j
+public class FrameLogWriter implements Closeable {
+    static final int RECORD_HEADER_SIZE = Integer.BYTES + Long.BYTES + Byte.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private int segmentIndex = -1;
+    private MappedByteBuffer segment;
+
+    public FrameLogWriter(Path directory, int segmentSize) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+    }
+
+    public void append(FrameRecord record) throws IOException {
+        var payload = record.fragment().getBytes(StandardCharsets.UTF_8);
+        var recordSize = RECORD_HEADER_SIZE + payload.length;
+        if (segment == null || segment.remaining() < recordSize + Integer.BYTES) {
+            nextSegment(recordSize + Integer.BYTES);
+        }
+        segment.putInt(payload.length + 1);
+        segment.putLong(record.receivedAtMicros());
+        segment.put((byte) record.flags());
+        segment.put(payload);
+    }
+
+    @Override
+    public void close() {
+        closeSegment();
+    }
+
+    static Path segmentPath(Path directory, int index) {
+        return directory.resolve("frames-%06d.log".formatted(index));
+    }
+
+    private void nextSegment(int minimumSize) throws IOException {
+        closeSegment();
+        segmentIndex++;
+        var path = segmentPath(directory, segmentIndex);
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, minimumSize));
+        }
+        log.info("Capturing frames to {}", path);
+    }
+
+    private void closeSegment() {
+        if (segment != null) {
+            if (segment.remaining() >= Integer.BYTES) {
+                segment.putInt(0);
+            }
+            segment.force();
+            segment = null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.blockchain.blockpulseservice.client.ws.capture;
+
+/**
+ * One captured websocket fragment, or a connection marker with an empty fragment.
+ *
+ * @param receivedAtMicros epoch microseconds, monotonic within one capture
+ */
+public record FrameRecord(long receivedAtMicros, boolean last, boolean connected, String fragment) {
+    static final int LAST = 1;
+    static final int CONNECTED = 2;
+
+    int flags() {
+        return (last ? LAST : 0) | (connected ? CONNECTED : 0);
+    }
+
+    static FrameRecord of(long receivedAtMicros, int flags, String fragment) {
+        return new FrameRecord(receivedAtMicros, (flags & LAST) != 0, (flags & CONNECTED) != 0, fragment);
+    }
+}
@@ -0,0 +1,107 @@
+package com.blockchain.blockpulseservice.client.ws.capture;
+
+import com.blockchain.blockpulseservice.client.ws.MempoolFrameHandler;
+import com.blockchain.blockpulseservice.service.sliding_window.SlidingWindowManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds a capture written by {@link FrameCapture} through {@link MempoolFrameHandler} instead of a
+ * live connection, keeping the recorded inter-fragment timing scaled by {@code speed}; a speed of 0 replays
+ * as fast as the pipeline accepts fragments.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.replay.enabled", havingValue = "true")
+public class FrameReplaySource {
+    private final MempoolFrameHandler.Session frameSession;
+    private final SlidingWindowManager slidingWindowManager;
+    private final Path directory;
+    private final double speed;
+    private final boolean loop;
+    private Thread replayThread;
+
+    public FrameReplaySource(MempoolFrameHandler frameHandler,
+                             SlidingWindowManager slidingWindowManager,
+                             @Value("${app.replay.directory}") String directory,
+                             @Value("${app.replay.speed:1.0}") double speed,
+                             @Value("${app.replay.loop:false}") boolean loop) {
+        this.frameSession = frameHandler.newSession("replay", () -> { });
+        this.slidingWindowManager = slidingWindowManager;
+        this.directory = Path.of(directory);
+        this.speed = Math.max(0, speed);
+        this.loop = loop;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startReplay() {
+        replayThread = new Thread(this::replay, "frame-replay");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
+
+    @PreDestroy
+    public void stopReplay() {
+        if (replayThread != null) {
+            replayThread.interrupt();
+        }
+    }
+
+    private void replay() {
+        try {
+            do {
+                replayOnce();
+            } while (loop && !Thread.currentThread().isInterrupted());
+        } catch (IOException e) {
+            log.error("Failed to replay frames from {}", directory, e);
+        }
+    }
+
+    private void replayOnce() throws IOException {
+        log.info("Replaying frames from {} at {}", directory, speed == 0 ? "maximum speed" : speed + "x");
+        // a looped pass repeats the txids of the previous one, which dedup would drop; nothing else feeds
+        // the window while replaying, and the replay thread is the only decoding thread
+        slidingWindowManager.forgetSeenTxids();
+        var reader = new FrameLogReader(directory);
+        var startNanos = System.nanoTime();
+        var firstMicros = -1L;
+        var fragments = 0L;
+        var characters = 0L;
+        while (reader.hasNext() && !Thread.currentThread().isInterrupted()) {
+            var record = reader.next();
+            if (firstMicros < 0) {
+                firstMicros = record.receivedAtMicros();
+            }
+            if (speed > 0) {
+                var dueNanos = startNanos + (long) (TimeUnit.MICROSECONDS.toNanos(record.receivedAtMicros() - firstMicros) / speed);
+                waitUntil(dueNanos);
+            }
+            if (record.connected()) {
+                frameSession.connectionEstablished();
+            } else {
+                frameSession.fragment(record.fragment(), record.last());
+                fragments++;
+                characters += record.fragment().length();
+            }
+        }
+        var elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        log.info("Replayed {} fragments ({} chars) in {} ms", fragments, characters, elapsedMillis);
+    }
+
+    private static void waitUntil(long dueNanos) {
+        long remaining;
+        while ((remaining = dueNanos - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.blockchain.blockpulseservice.client.ws.manager;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.retry.support.RetryTemplate;
-import org.springframework.stereotype.Component;
 
 import java.net.URI;
 import java.util.concurrent.ScheduledExecutorService;
@@ -11,7 +10,6 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
-@Component
 public class ReconnectionManager {
 
     private final ScheduledExecutorService scheduler;
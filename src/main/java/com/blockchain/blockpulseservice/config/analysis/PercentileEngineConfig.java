@@ -0,0 +1,26 @@
+package com.blockchain.blockpulseservice.config.analysis;
+
+import com.blockchain.blockpulseservice.service.sliding_window.ComparingFeeRateDistribution;
+import com.blockchain.blockpulseservice.service.sliding_window.FeeRateDistribution;
+import com.blockchain.blockpulseservice.service.sliding_window.PercentileAccuracyReport;
+import com.blockchain.blockpulseservice.service.sliding_window.PercentileEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PercentileEngineConfig {
+
+    @Bean
+    public FeeRateDistribution windowFeeRates(@Value("${app.analysis.tx.percentile-engine:exact}") PercentileEngine engine,
+                                              @Value("${app.analysis.tx.sliding-window-size:1000}") int slidingWindowSize,
+                                              @Value("${app.analysis.tx.percentile-accuracy-report:false}") boolean accuracyReport,
+                                              PercentileAccuracyReport report) {
+        var distribution = engine.create(slidingWindowSize);
+        if (!accuracyReport) {
+            return distribution;
+        }
+        var reference = engine == PercentileEngine.EXACT ? PercentileEngine.HISTOGRAM : PercentileEngine.EXACT;
+        return new ComparingFeeRateDistribution(distribution, reference.create(slidingWindowSize), report);
+    }
+}
@@ -1,9 +1,15 @@
 package com.blockchain.blockpulseservice.config.analysis;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class ThreadConfig {
@@ -15,4 +21,24 @@ public class ThreadConfig {
             return thread;
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Workers running the analyzer chain. The queue is bounded and overflow runs on the submitting
+     * sliding window thread, which throttles it instead of piling up chunks. Unlike
+     * {@link ThreadPoolExecutor.CallerRunsPolicy} this also runs chunks submitted after shutdown, which would
+     * otherwise never reach the publisher and hold back every later one.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService analysisWorkers(@Value("${app.analysis.workers:1}") int workers) {
+        var threadCount = Math.max(1, workers);
+        var threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threadCount * 4),
+                r -> {
+                    Thread thread = new Thread(r, "analysis-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> task.run());
+    }
+}
@@ -0,0 +1,18 @@
+package com.blockchain.blockpulseservice.config.tracing;
+
+import com.blockchain.blockpulseservice.tracing.TransactionTracing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class TracingConfig {
+
+    public TracingConfig(@Value("${app.tracing.jfr.sample-rate:0}") int sampleRate) {
+        TransactionTracing.configure(sampleRate);
+        if (sampleRate > 0) {
+            log.info("Emitting per-transaction JFR events for one of every {} transactions", sampleRate);
+        }
+    }
+}
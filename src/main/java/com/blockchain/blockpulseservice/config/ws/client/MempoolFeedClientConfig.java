@@ -0,0 +1,92 @@
+package com.blockchain.blockpulseservice.config.ws.client;
+
+import com.blockchain.blockpulseservice.client.ws.MempoolFeedClient;
+import com.blockchain.blockpulseservice.client.ws.MempoolFrameHandler;
+import com.blockchain.blockpulseservice.client.ws.MempoolSpaceWebSocketClient;
+import com.blockchain.blockpulseservice.client.ws.ReactorNettyMempoolClient;
+import com.blockchain.blockpulseservice.client.ws.WebSocketMessageHandler;
+import com.blockchain.blockpulseservice.client.ws.WebSocketMessageSender;
+import com.blockchain.blockpulseservice.client.ws.manager.ConnectionStateManager;
+import com.blockchain.blockpulseservice.client.ws.manager.ReconnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.web.socket.client.WebSocketClient;
+
+import java.net.URI;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Upstream connections: always a primary, plus a hot standby when {@code app.upstream.redundant} is set.
+ * {@code app.websocket.client} picks the transport for both.
+ */
+@Configuration
+public class MempoolFeedClientConfig {
+    private final String transport;
+    private final int fragmentBufferSize;
+    private final int maxFrameSizeMb;
+    private final WebSocketClient webSocketClient;
+    private final ScheduledExecutorService webSocketScheduler;
+    private final RetryTemplate retryTemplate;
+    private final WebSocketMessageHandler messageHandler;
+    private final WebSocketMessageSender messageSender;
+    private final MempoolFrameHandler frameHandler;
+    private final WebSocketReconnectionProperties reconnection;
+
+    public MempoolFeedClientConfig(@Value("${app.websocket.client:standard}") String transport,
+                                   @Value("${app.websocket.fragment-buffer-size:65536}") int fragmentBufferSize,
+                                   @Value("${app.websocket.max-frame-size-mb:64}") int maxFrameSizeMb,
+                                   WebSocketClient webSocketClient,
+                                   ScheduledExecutorService webSocketScheduler,
+                                   RetryTemplate retryTemplate,
+                                   WebSocketMessageHandler messageHandler,
+                                   WebSocketMessageSender messageSender,
+                                   MempoolFrameHandler frameHandler,
+                                   WebSocketReconnectionProperties reconnection) {
+        this.transport = transport;
+        this.fragmentBufferSize = fragmentBufferSize;
+        this.maxFrameSizeMb = maxFrameSizeMb;
+        this.webSocketClient = webSocketClient;
+        this.webSocketScheduler = webSocketScheduler;
+        this.retryTemplate = retryTemplate;
+        this.messageHandler = messageHandler;
+        this.messageSender = messageSender;
+        this.frameHandler = frameHandler;
+        this.reconnection = reconnection;
+    }
+
+    @Bean
+    public MempoolFeedClient primaryFeedClient(@Value("${app.mempool.space.websocket.track-mempool-api-url}") String serverUri) {
+        return feedClient("primary", serverUri);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.upstream.redundant", havingValue = "true")
+    public MempoolFeedClient standbyFeedClient(@Value("${app.mempool.space.websocket.track-mempool-api-url}") String primaryUri,
+                                               @Value("${app.mempool.space.websocket.standby-api-url:}") String standbyUri) {
+        return feedClient("standby", standbyUri.isBlank() ? primaryUri : standbyUri);
+    }
+
+    private MempoolFeedClient feedClient(String name, String serverUri) {
+        return switch (transport) {
+            case "standard" -> new MempoolSpaceWebSocketClient(name,
+                    URI.create(serverUri),
+                    fragmentBufferSize,
+                    webSocketClient,
+                    new ConnectionStateManager(),
+                    new ReconnectionManager(webSocketScheduler, retryTemplate),
+                    messageHandler,
+                    messageSender,
+                    frameHandler);
+            case "reactor-netty" -> new ReactorNettyMempoolClient(name,
+                    URI.create(serverUri),
+                    fragmentBufferSize,
+                    maxFrameSizeMb,
+                    frameHandler,
+                    reconnection);
+            default -> throw new IllegalArgumentException("Unknown app.websocket.client: " + transport);
+        };
+    }
+}
@@ -1,30 +1,44 @@
 package com.blockchain.blockpulseservice.config.ws.client;
 
-import com.blockchain.blockpulseservice.client.ws.MempoolSpaceWebSocketClient;
+import com.blockchain.blockpulseservice.client.ws.MempoolFeedClient;
 import jakarta.annotation.PreDestroy;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class WebSocketClientStarter {
     
-    private final MempoolSpaceWebSocketClient btcClient;
+    private final List<MempoolFeedClient> btcClients;
+    private final boolean replaying;
+
+    public WebSocketClientStarter(List<MempoolFeedClient> btcClients,
+                                  @Value("${app.replay.enabled:false}") boolean replaying) {
+        this.btcClients = btcClients;
+        this.replaying = replaying;
+    }
 
     @EventListener(ApplicationReadyEvent.class)
     public void startWebSocketConnections() {
+        if (replaying) {
+            log.info("Replaying a frame capture, not connecting to mempool.space");
+            return;
+        }
         log.info("Starting WebSocket connections...");
         
-        try {
-            btcClient.connect();
-            log.info("BTC WebSocket client connected");
-        } catch (Exception e) {
-            log.error("Failed to connect BTC WebSocket client", e);
+        for (var btcClient : btcClients) {
+            try {
+                btcClient.connect();
+                log.info("BTC WebSocket client connected");
+            } catch (Exception e) {
+                log.error("Failed to connect BTC WebSocket client", e);
+            }
         }
     }
     
@@ -32,10 +46,12 @@ public class WebSocketClientStarter {
     public void shutdownWebSocketConnections() {
         log.info("Shutting down WebSocket connections...");
         
-        try {
-            btcClient.disconnect();
-        } catch (Exception e) {
-            log.error("Error shutting down BTC client", e);
+        for (var btcClient : btcClients) {
+            try {
+                btcClient.disconnect();
+            } catch (Exception e) {
+                log.error("Error shutting down BTC client", e);
+            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.blockchain.blockpulseservice.config.ws.server;
+
+import com.blockchain.blockpulseservice.controller.ws.BinaryAnalysisWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Tomcat negotiates permessage-deflate for clients that offer it, so the endpoint needs no extension setup.
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class BinaryStreamWebSocketConfig implements WebSocketConfigurer {
+    private final BinaryAnalysisWebSocketHandler binaryAnalysisWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(binaryAnalysisWebSocketHandler, "/api/v1/transactions/binary");
+    }
+}
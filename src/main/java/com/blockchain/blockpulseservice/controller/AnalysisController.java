@@ -1,29 +1,64 @@
 package com.blockchain.blockpulseservice.controller;
 
-import com.blockchain.blockpulseservice.model.dto.AnalyzedTransactionDTO;
-import com.blockchain.blockpulseservice.service.AnalysisStream;
+import com.blockchain.blockpulseservice.model.FeeClassification;
+import com.blockchain.blockpulseservice.model.PatternType;
+import com.blockchain.blockpulseservice.model.SubscriptionFilter;
+import com.blockchain.blockpulseservice.service.FilteredAnalysisStreams;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 
-import java.time.Duration;
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RestController
 @RequestMapping("/api/v1/transactions")
 public class AnalysisController {
-    private final AnalysisStream stream;
+    private final FilteredAnalysisStreams streams;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter emittedEvents;
 
-    public AnalysisController(AnalysisStream stream) {
-        this.stream = stream;
+    public AnalysisController(FilteredAnalysisStreams streams, MeterRegistry meterRegistry) {
+        this.streams = streams;
+        Gauge.builder("blockpulse.sse.subscribers", subscribers, AtomicInteger::get)
+                .description("Open transaction stream subscriptions")
+                .register(meterRegistry);
+        this.emittedEvents = Counter.builder("blockpulse.sse.events")
+                .description("Server-sent events emitted across all subscriptions")
+                .register(meterRegistry);
     }
 
+    /**
+     * Sampled stream of analyzed transactions, optionally filtered, e.g.
+     * {@code ?feeClassification=CHEAP,NORMAL&patternTypes=SURGE&outliersOnly=true&minFeeRate=5}.
+     * Event data is the JSON of an {@code AnalyzedTransactionDTO}, encoded once and written as-is to every
+     * subscriber; the event id is its {@code seq}. Clients reconnecting with {@code Last-Event-ID} first get
+     * the matching events they missed, sampled like the live stream and as far as the replay ring reaches,
+     * then the live stream.
+     */
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<ServerSentEvent<AnalyzedTransactionDTO>> stream() {
-        return stream.flux()
-                .map(dto -> ServerSentEvent.builder(dto).build())
-                .sample(Duration.ofSeconds(2));
+    public Flux<ServerSentEvent<byte[]>> stream(@RequestParam(required = false) Set<FeeClassification> feeClassification,
+                                                      @RequestParam(required = false) Set<PatternType> patternTypes,
+                                                      @RequestParam(defaultValue = "false") boolean outliersOnly,
+                                                      @RequestParam(required = false) BigDecimal minFeeRate,
+                                                      @RequestHeader(value = "Last-Event-ID", required = false) Integer lastEventId) {
+        var filter = new SubscriptionFilter(feeClassification, patternTypes, outliersOnly, minFeeRate);
+        var events = lastEventId == null ? streams.flux(filter) : streams.resume(filter, lastEventId);
+        return events
+                .map(event -> ServerSentEvent.builder(event.json())
+                        .id(Integer.toString(event.dto().seq()))
+                        .build())
+                .doOnNext(event -> emittedEvents.increment())
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
     }
-}
\ No newline at end of file
+}
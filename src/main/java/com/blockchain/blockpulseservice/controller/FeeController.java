@@ -0,0 +1,39 @@
+package com.blockchain.blockpulseservice.controller;
+
+import com.blockchain.blockpulseservice.model.FeeRate;
+import com.blockchain.blockpulseservice.model.dto.FeeProjectionDTO;
+import com.blockchain.blockpulseservice.model.dto.ProjectedBlockDTO;
+import com.blockchain.blockpulseservice.service.mempool.ProjectedBlockEstimator;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/fees")
+public class FeeController {
+    private final ProjectedBlockEstimator projectedBlockEstimator;
+
+    public FeeController(ProjectedBlockEstimator projectedBlockEstimator) {
+        this.projectedBlockEstimator = projectedBlockEstimator;
+    }
+
+    /**
+     * Fee bands of the next blocks as projected from the local mempool mirror after the latest frame.
+     * {@code warm} is false while the mirror may still be missing transactions announced before it started.
+     */
+    @GetMapping("/projected")
+    public FeeProjectionDTO projected() {
+        var projection = projectedBlockEstimator.projection();
+        var blocks = projection.blocks().stream()
+                .map(block -> new ProjectedBlockDTO(
+                        FeeRate.toDecimal(block.minFeeRate()),
+                        FeeRate.toDecimal(block.medianFeeRate()),
+                        FeeRate.toDecimal(block.maxFeeRate()),
+                        block.vsize()))
+                .toList();
+        return new FeeProjectionDTO(projection.computedAt(),
+                projectedBlockEstimator.isWarm(),
+                projection.mempoolVsize(),
+                blocks);
+    }
+}
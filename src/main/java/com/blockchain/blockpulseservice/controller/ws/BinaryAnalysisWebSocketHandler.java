@@ -0,0 +1,84 @@
+package com.blockchain.blockpulseservice.controller.ws;
+
+import com.blockchain.blockpulseservice.service.AnalysisStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unsampled analysis stream in the {@link com.blockchain.blockpulseservice.mapper.AnalysisBinaryCodec} encoding.
+ * Clients grant credit by sending the number of further transactions they are ready to receive as a text
+ * message, e.g. {@code 1000}; each connection starts with {@code initial-credits}.
+ */
+@Slf4j
+@Component
+public class BinaryAnalysisWebSocketHandler extends AbstractWebSocketHandler {
+    private final AnalysisStream analysisStream;
+    private final int initialCredits;
+    private final int maxCredits;
+    private final int maxRecordsPerMessage;
+    private final Counter skippedTransactions;
+    private final Map<String, BinaryStreamSession> sessions = new ConcurrentHashMap<>();
+
+    public BinaryAnalysisWebSocketHandler(AnalysisStream analysisStream,
+                                          @Value("${app.egress.binary.initial-credits:1024}") int initialCredits,
+                                          @Value("${app.egress.binary.max-credits:65536}") int maxCredits,
+                                          @Value("${app.egress.binary.max-records-per-message:256}") int maxRecordsPerMessage,
+                                          MeterRegistry meterRegistry) {
+        this.analysisStream = analysisStream;
+        this.initialCredits = Math.max(0, initialCredits);
+        this.maxCredits = Math.max(1, maxCredits);
+        this.maxRecordsPerMessage = Math.max(1, maxRecordsPerMessage);
+        this.skippedTransactions = Counter.builder("blockpulse.egress.binary.skipped")
+                .description("Transactions not sent to binary stream clients that ran out of credit")
+                .register(meterRegistry);
+        Gauge.builder("blockpulse.egress.binary.sessions", sessions, Map::size)
+                .description("Open binary stream connections")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        log.info("Binary stream client connected: {} (extensions {})", session.getRemoteAddress(), session.getExtensions());
+        var streamSession = new BinaryStreamSession(session, initialCredits, maxCredits, maxRecordsPerMessage, skippedTransactions);
+        sessions.put(session.getId(), streamSession);
+        streamSession.start(analysisStream.flux());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        var streamSession = sessions.get(session.getId());
+        if (streamSession == null) {
+            return;
+        }
+        try {
+            streamSession.addCredits(Long.parseLong(message.getPayload().trim()));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid credit grant from {}: {}", session.getRemoteAddress(), message.getPayload());
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("Binary stream transport error for {}", session.getRemoteAddress(), exception);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        var streamSession = sessions.remove(session.getId());
+        if (streamSession != null) {
+            streamSession.stop();
+        }
+        log.info("Binary stream client disconnected: {} ({})", session.getRemoteAddress(), status);
+    }
+}
@@ -0,0 +1,136 @@
+package com.blockchain.blockpulseservice.controller.ws;
+
+import com.blockchain.blockpulseservice.mapper.AnalysisBinaryCodec;
+import com.blockchain.blockpulseservice.model.TransactionWindowSnapshotDTO;
+import com.blockchain.blockpulseservice.service.AnalysisEvent;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One binary stream subscriber. Every transaction costs one credit; while a client has no credit its
+ * transactions are skipped rather than queued, and the count is reported in a {@code GAP} record, so a slow
+ * client never holds memory or the publishing thread. Messages are written by a virtual thread of the
+ * session, batching whatever accumulated while the previous message was in flight.
+ */
+@Slf4j
+class BinaryStreamSession {
+    private final WebSocketSession session;
+    private final BlockingQueue<AnalysisEvent> pending;
+    private final AtomicLong credits;
+    private final AtomicLong skipped = new AtomicLong();
+    private final long maxCredits;
+    private final int maxRecordsPerMessage;
+    private final Counter skippedTransactions;
+    private Disposable subscription;
+    private Thread sender;
+    private TransactionWindowSnapshotDTO lastSnapshot;
+
+    BinaryStreamSession(WebSocketSession session,
+                        long initialCredits,
+                        int maxCredits,
+                        int maxRecordsPerMessage,
+                        Counter skippedTransactions) {
+        this.session = session;
+        this.pending = new ArrayBlockingQueue<>(maxCredits);
+        this.credits = new AtomicLong(Math.min(initialCredits, maxCredits));
+        this.maxCredits = maxCredits;
+        this.maxRecordsPerMessage = maxRecordsPerMessage;
+        this.skippedTransactions = skippedTransactions;
+    }
+
+    void start(Flux<AnalysisEvent> events) {
+        sender = Thread.ofVirtual().name("binary-stream-" + session.getId()).start(this::sendLoop);
+        subscription = events.subscribe(this::offer);
+    }
+
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        if (sender != null) {
+            sender.interrupt();
+        }
+    }
+
+    void addCredits(long granted) {
+        if (granted > 0) {
+            credits.accumulateAndGet(granted, (current, added) -> Math.min(maxCredits, current + added));
+        }
+    }
+
+    private void offer(AnalysisEvent event) {
+        if (acquireCredit()) {
+            if (pending.offer(event)) {
+                return;
+            }
+            // credits granted while earlier events still fill the queue; the skipped event must not spend one
+            addCredits(1);
+        }
+        skipped.incrementAndGet();
+        skippedTransactions.increment();
+    }
+
+    private boolean acquireCredit() {
+        return credits.getAndUpdate(current -> current > 0 ? current - 1 : 0) > 0;
+    }
+
+    private void sendLoop() {
+        var batch = new ArrayList<AnalysisEvent>(maxRecordsPerMessage);
+        try {
+            session.sendMessage(new BinaryMessage(AnalysisBinaryCodec.header()));
+            while (session.isOpen()) {
+                batch.add(pending.take());
+                pending.drainTo(batch, maxRecordsPerMessage - 1);
+                session.sendMessage(new BinaryMessage(encode(batch)));
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Binary stream session {} stopped sending: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private ByteBuffer encode(List<AnalysisEvent> batch) {
+        var skippedSinceLastMessage = skipped.getAndSet(0);
+        var size = skippedSinceLastMessage > 0 ? AnalysisBinaryCodec.GAP_SIZE : 0;
+        var snapshot = lastSnapshot;
+        for (var event : batch) {
+            size += AnalysisBinaryCodec.TRANSACTION_SIZE;
+            if (isNewSnapshot(event, snapshot)) {
+                size += AnalysisBinaryCodec.WINDOW_SNAPSHOT_SIZE;
+                snapshot = event.dto().windowSnapshot();
+            }
+        }
+        var buffer = ByteBuffer.allocate(size);
+        if (skippedSinceLastMessage > 0) {
+            AnalysisBinaryCodec.putGap(buffer, skippedSinceLastMessage);
+        }
+        for (var event : batch) {
+            if (isNewSnapshot(event, lastSnapshot)) {
+                lastSnapshot = event.dto().windowSnapshot();
+                AnalysisBinaryCodec.putWindowSnapshot(buffer, lastSnapshot);
+            }
+            buffer.put(event.binary());
+        }
+        return buffer.flip();
+    }
+
+    // one snapshot instance is shared by all transactions of an analyzed batch
+    private static boolean isNewSnapshot(AnalysisEvent event, TransactionWindowSnapshotDTO previous) {
+        var snapshot = event.dto().windowSnapshot();
+        return snapshot != null && snapshot != previous;
+    }
+}
@@ -0,0 +1,122 @@
+package com.blockchain.blockpulseservice.mapper;
+
+import com.blockchain.blockpulseservice.model.FeeClassification;
+import com.blockchain.blockpulseservice.model.FeeRate;
+import com.blockchain.blockpulseservice.model.PatternType;
+import com.blockchain.blockpulseservice.model.TransactionWindowSnapshotDTO;
+import com.blockchain.blockpulseservice.model.dto.AnalyzedTransactionDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+/**
+ * Compact binary encoding of the analysis stream. Records are big-endian, start with a type byte and
+ * have a fixed width per type, so a binary message is a plain concatenation of records:
+ * <pre>
+ * HEADER          u8 type, i32 magic "BPLS", u8 version,
+ *                 u8 n, n × (u8 length, UTF-8 name) fee classifications,
+ *                 u8 m, m × (u8 length, UTF-8 name) pattern types
+ * TRANSACTION     u8 type, i32 seq, 32 bytes txid, i64 fee rate (milli-sat/vB), i64 total fee (sat),
+ *                 i32 vsize, i64 first seen (epoch s, -1 if unknown), i64 produced at (epoch ms, -1 if unknown),
+ *                 u8 fee classification (1-based index into the header, 0 if none),
+ *                 u8 pattern types (bit i = i-th header entry), u8 flags (bit 0 = outlier)
+ * WINDOW_SNAPSHOT u8 type, i32 transactions, i64 average fee rate, i64 median fee rate (milli-sat/vB),
+ *                 i32 outliers
+ * GAP             u8 type, i64 transactions skipped for lack of credit
+ * </pre>
+ * Enums travel as indexes into the dictionaries of the header, which is the first message of a connection,
+ * so clients never depend on constant ordinals.
+ */
+public final class AnalysisBinaryCodec {
+    public static final int MAGIC = 0x42504C53;
+    public static final byte VERSION = 1;
+
+    public static final byte HEADER = 0;
+    public static final byte TRANSACTION = 1;
+    public static final byte WINDOW_SNAPSHOT = 2;
+    public static final byte GAP = 3;
+
+    public static final int TRANSACTION_SIZE = 76;
+    public static final int WINDOW_SNAPSHOT_SIZE = 25;
+    public static final int GAP_SIZE = 9;
+
+    private static final int TXID_SIZE = 32;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private AnalysisBinaryCodec() {}
+
+    public static byte[] header() {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(HEADER);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            writeDictionary(out, FeeClassification.values());
+            writeDictionary(out, PatternType.values());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static byte[] encodeTransaction(AnalyzedTransactionDTO dto) {
+        var buffer = ByteBuffer.allocate(TRANSACTION_SIZE);
+        buffer.put(TRANSACTION);
+        buffer.putInt(dto.seq());
+        putTxid(buffer, dto.id());
+        buffer.putLong(dto.feePerVByte() == null ? 0 : FeeRate.fromDecimal(dto.feePerVByte()));
+        buffer.putLong(dto.totalFee() == null ? 0 : dto.totalFee().longValue());
+        buffer.putInt(dto.size());
+        buffer.putLong(dto.timestamp() == null ? -1 : dto.timestamp().getEpochSecond());
+        buffer.putLong(dto.producedAt() == null ? -1 : dto.producedAt().toEpochMilli());
+        buffer.put((byte) (dto.feeClassification() == null ? 0 : dto.feeClassification().ordinal() + 1));
+        buffer.put(patternMask(dto));
+        buffer.put((byte) (dto.isOutlier() ? 1 : 0));
+        return buffer.array();
+    }
+
+    public static void putWindowSnapshot(ByteBuffer buffer, TransactionWindowSnapshotDTO snapshot) {
+        buffer.put(WINDOW_SNAPSHOT);
+        buffer.putInt(snapshot.transactionsCount());
+        buffer.putLong(FeeRate.fromDecimal(snapshot.avgFeePerVByte()));
+        buffer.putLong(FeeRate.fromDecimal(snapshot.medianFeePerVByte()));
+        buffer.putInt(snapshot.outliersCount());
+    }
+
+    public static void putGap(ByteBuffer buffer, long skipped) {
+        buffer.put(GAP);
+        buffer.putLong(skipped);
+    }
+
+    private static void writeDictionary(DataOutputStream out, Enum<?>[] values) throws IOException {
+        out.writeByte(values.length);
+        for (var value : values) {
+            var name = value.name().getBytes(StandardCharsets.UTF_8);
+            out.writeByte(name.length);
+            out.write(name);
+        }
+    }
+
+    private static void putTxid(ByteBuffer buffer, String txid) {
+        if (txid != null && txid.length() == TXID_SIZE * 2) {
+            buffer.put(HEX.parseHex(txid));
+        } else {
+            buffer.position(buffer.position() + TXID_SIZE);
+        }
+    }
+
+    private static byte patternMask(AnalyzedTransactionDTO dto) {
+        var mask = 0;
+        if (dto.patternTypes() != null) {
+            for (var patternType : dto.patternTypes()) {
+                mask |= 1 << patternType.ordinal();
+            }
+        }
+        return (byte) mask;
+    }
+}
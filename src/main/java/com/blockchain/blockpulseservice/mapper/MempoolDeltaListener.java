@@ -0,0 +1,38 @@
+package com.blockchain.blockpulseservice.mapper;
+
+import com.blockchain.blockpulseservice.model.Transaction;
+import com.blockchain.blockpulseservice.model.TxId;
+import com.blockchain.blockpulseservice.model.dto.MempoolInfoDTO;
+import com.blockchain.blockpulseservice.model.dto.RecommendedTransactionFeeDTO;
+
+/**
+ * Receives the deltas of {@code mempool-transactions} frames and the pushed stats as
+ * {@link MempoolFrameDecoder} parses them. Only additions are required; the other callbacks default to
+ * ignoring their delta.
+ */
+@FunctionalInterface
+public interface MempoolDeltaListener {
+    void added(Transaction transaction);
+
+    /** Evicted or otherwise dropped from the upstream mempool. */
+    default void removed(TxId txid) {}
+
+    /** Confirmed in a block. */
+    default void mined(TxId txid) {}
+
+    /**
+     * Replaced by fee bumping. The replacement is usually also part of {@code added}.
+     *
+     * @param replacement {@code null} if the frame did not carry it
+     */
+    default void replaced(TxId replacedTxid, Transaction replacement) {}
+
+    /** Recommended fee rates pushed on the {@code stats} channel, in sat/vB. */
+    default void fees(RecommendedTransactionFeeDTO fees) {}
+
+    /** Upstream mempool summary pushed on the {@code stats} channel. */
+    default void mempoolInfo(MempoolInfoDTO mempoolInfo) {}
+
+    /** A complete frame has been decoded. */
+    default void frameDecoded() {}
+}
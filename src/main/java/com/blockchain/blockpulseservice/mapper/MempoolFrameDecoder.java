@@ -0,0 +1,422 @@
+package com.blockchain.blockpulseservice.mapper;
+
+import com.blockchain.blockpulseservice.model.FeeRate;
+import com.blockchain.blockpulseservice.model.Transaction;
+import com.blockchain.blockpulseservice.model.TxId;
+import com.blockchain.blockpulseservice.model.dto.MempoolInfoDTO;
+import com.blockchain.blockpulseservice.model.dto.RecommendedTransactionFeeDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Incremental decoder for one websocket connection: frame fragments are pushed into a non-blocking
+ * Jackson parser as they arrive and every {@code mempool-transactions} delta ({@code added}, {@code removed},
+ * {@code mined}, {@code replaced}) is handed to the listener as soon as it is parsed, before the rest of the
+ * frame has been received. {@code removed} and {@code mined} entries may be txids or objects with a txid.
+ * Txids are decoded into {@link TxId}s straight from the parser buffer; entries whose txid is not 64 hex
+ * digits are skipped. The {@code fees} and {@code mempoolInfo} objects of the {@code stats} channel are
+ * handed over once complete.
+ * <p>
+ * The parse position lives in {@link State} plus a nesting counter for values being skipped, because a
+ * non-blocking parser cannot {@code skipChildren()} across fragment boundaries. Not thread-safe: fragments
+ * of a connection are delivered sequentially.
+ */
+public class MempoolFrameDecoder {
+    private enum State {
+        ROOT, ROOT_FIELDS, ROOT_VALUE,
+        MEMPOOL_TRANSACTIONS_FIELDS, MEMPOOL_TRANSACTIONS_VALUE,
+        ADDED, TRANSACTION_FIELDS, TRANSACTION_VALUE,
+        TXIDS, TXID_OBJECT_FIELDS, TXID_OBJECT_VALUE,
+        REPLACED, REPLACEMENT_FIELDS, REPLACEMENT_VALUE,
+        FEES_FIELDS, FEES_VALUE, MEMPOOL_INFO_FIELDS, MEMPOOL_INFO_VALUE,
+        DONE
+    }
+
+    private final JsonFactory jsonFactory;
+    private final MempoolDeltaListener listener;
+    private JsonParser parser;
+    private State state;
+    private int skipDepth;
+    private boolean discarding;
+    private String field;
+    private int decoded;
+    private boolean mined;
+    private State transactionEnd;
+    private State txidObjectEnd;
+    private TxId objectTxid;
+    private TxId replacedTxid;
+    private Transaction replacement;
+    private long frameReceivedAt;
+
+    private TxId txid;
+    private int vSize;
+    private long fee;
+    private long feePerVSize;
+    private Instant firstSeen;
+
+    private double fastestFee;
+    private double halfHourFee;
+    private double hourFee;
+    private double economyFee;
+    private int mempoolInfoSize;
+
+    MempoolFrameDecoder(JsonFactory jsonFactory, MempoolDeltaListener listener) {
+        this.jsonFactory = jsonFactory;
+        this.listener = listener;
+    }
+
+    public void feed(String fragment) throws IOException {
+        var bytes = fragment.getBytes(StandardCharsets.UTF_8);
+        feed(bytes, 0, bytes.length);
+    }
+
+    public void feed(byte[] bytes, int offset, int length) throws IOException {
+        if (discarding || length == 0) {
+            return;
+        }
+        var activeParser = parser();
+        ((ByteArrayFeeder) activeParser.getNonBlockingInputFeeder()).feedInput(bytes, offset, offset + length);
+        drain(activeParser);
+    }
+
+    /**
+     * Completes the current frame and gets ready for the next one.
+     *
+     * @return number of added transactions handed to the listener for this frame
+     */
+    public int endOfFrame() throws IOException {
+        try {
+            if (!discarding && parser != null) {
+                ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).endOfInput();
+                drain(parser);
+                listener.frameDecoded();
+            }
+            return decoded;
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * Ignores whatever is left of the current frame, e.g. after a parse error, until {@link #endOfFrame()}.
+     */
+    public void discardFrame() {
+        closeParser();
+        discarding = true;
+    }
+
+    public void reset() {
+        closeParser();
+        discarding = false;
+        decoded = 0;
+    }
+
+    private JsonParser parser() throws IOException {
+        if (parser == null) {
+            parser = jsonFactory.createNonBlockingByteArrayParser();
+            frameReceivedAt = System.nanoTime();
+            state = State.ROOT;
+            skipDepth = 0;
+        }
+        return parser;
+    }
+
+    private void drain(JsonParser activeParser) throws IOException {
+        JsonToken token;
+        while ((token = activeParser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            onToken(activeParser, token);
+        }
+    }
+
+    private void onToken(JsonParser activeParser, JsonToken token) throws IOException {
+        if (skipDepth > 0) {
+            if (token.isStructStart()) {
+                skipDepth++;
+            } else if (token.isStructEnd()) {
+                skipDepth--;
+            }
+            return;
+        }
+        switch (state) {
+            case ROOT -> state = token == JsonToken.START_OBJECT ? State.ROOT_FIELDS : State.DONE;
+            case ROOT_FIELDS -> state = nextField(activeParser, token, State.ROOT_VALUE, State.DONE);
+            case ROOT_VALUE -> state = rootValue(token);
+            case MEMPOOL_TRANSACTIONS_FIELDS -> state = nextField(activeParser, token, State.MEMPOOL_TRANSACTIONS_VALUE, State.ROOT_FIELDS);
+            case MEMPOOL_TRANSACTIONS_VALUE -> state = token == JsonToken.START_ARRAY
+                    ? deltaArray()
+                    : skip(token, State.MEMPOOL_TRANSACTIONS_FIELDS);
+            case ADDED -> {
+                if (token == JsonToken.START_OBJECT) {
+                    startTransaction(State.ADDED);
+                    state = State.TRANSACTION_FIELDS;
+                } else if (token == JsonToken.END_ARRAY) {
+                    state = State.MEMPOOL_TRANSACTIONS_FIELDS;
+                } else {
+                    state = skip(token, State.ADDED);
+                }
+            }
+            case TRANSACTION_FIELDS -> {
+                if (token == JsonToken.END_OBJECT) {
+                    endTransaction();
+                    state = transactionEnd;
+                } else {
+                    state = nextField(activeParser, token, State.TRANSACTION_VALUE, transactionEnd);
+                }
+            }
+            case TRANSACTION_VALUE -> state = readTransactionField(activeParser, token);
+            case TXIDS -> {
+                if (token == JsonToken.VALUE_STRING) {
+                    txidDelta(readTxid(activeParser));
+                } else if (token == JsonToken.START_OBJECT) {
+                    startTxidObject(State.TXIDS);
+                    state = State.TXID_OBJECT_FIELDS;
+                } else if (token == JsonToken.END_ARRAY) {
+                    state = State.MEMPOOL_TRANSACTIONS_FIELDS;
+                } else {
+                    state = skip(token, State.TXIDS);
+                }
+            }
+            case TXID_OBJECT_FIELDS -> {
+                if (token == JsonToken.END_OBJECT) {
+                    endTxidObject();
+                    state = txidObjectEnd;
+                } else {
+                    state = nextField(activeParser, token, State.TXID_OBJECT_VALUE, txidObjectEnd);
+                }
+            }
+            case TXID_OBJECT_VALUE -> {
+                if ("txid".equals(field) && token == JsonToken.VALUE_STRING) {
+                    objectTxid = readTxid(activeParser);
+                    state = State.TXID_OBJECT_FIELDS;
+                } else {
+                    state = skip(token, State.TXID_OBJECT_FIELDS);
+                }
+            }
+            case REPLACED -> {
+                if (token == JsonToken.START_OBJECT) {
+                    replacedTxid = null;
+                    replacement = null;
+                    state = State.REPLACEMENT_FIELDS;
+                } else if (token == JsonToken.END_ARRAY) {
+                    state = State.MEMPOOL_TRANSACTIONS_FIELDS;
+                } else {
+                    state = skip(token, State.REPLACED);
+                }
+            }
+            case REPLACEMENT_FIELDS -> {
+                if (token == JsonToken.END_OBJECT) {
+                    if (replacedTxid != null) {
+                        listener.replaced(replacedTxid, replacement);
+                    }
+                    state = State.REPLACED;
+                } else {
+                    state = nextField(activeParser, token, State.REPLACEMENT_VALUE, State.REPLACED);
+                }
+            }
+            case REPLACEMENT_VALUE -> state = readReplacementField(activeParser, token);
+            case FEES_FIELDS -> {
+                if (token == JsonToken.END_OBJECT) {
+                    endFees();
+                    state = State.ROOT_FIELDS;
+                } else {
+                    state = nextField(activeParser, token, State.FEES_VALUE, State.ROOT_FIELDS);
+                }
+            }
+            case FEES_VALUE -> state = readFeesField(activeParser, token);
+            case MEMPOOL_INFO_FIELDS -> {
+                if (token == JsonToken.END_OBJECT) {
+                    if (mempoolInfoSize >= 0) {
+                        listener.mempoolInfo(new MempoolInfoDTO(mempoolInfoSize));
+                    }
+                    state = State.ROOT_FIELDS;
+                } else {
+                    state = nextField(activeParser, token, State.MEMPOOL_INFO_VALUE, State.ROOT_FIELDS);
+                }
+            }
+            case MEMPOOL_INFO_VALUE -> {
+                // bitcoind's getmempoolinfo, size is the transaction count
+                if ("size".equals(field) && token == JsonToken.VALUE_NUMBER_INT) {
+                    mempoolInfoSize = activeParser.getIntValue();
+                    state = State.MEMPOOL_INFO_FIELDS;
+                } else {
+                    state = skip(token, State.MEMPOOL_INFO_FIELDS);
+                }
+            }
+            case DONE -> {
+                // trailing content after the root value is ignored
+            }
+        }
+    }
+
+    private State nextField(JsonParser activeParser, JsonToken token, State valueState, State endState) throws IOException {
+        if (token == JsonToken.FIELD_NAME) {
+            field = activeParser.currentName();
+            return valueState;
+        }
+        return endState;
+    }
+
+    private State skip(JsonToken token, State next) {
+        if (token.isStructStart()) {
+            skipDepth = 1;
+        }
+        return next;
+    }
+
+    private State rootValue(JsonToken token) {
+        if (token != JsonToken.START_OBJECT) {
+            return skip(token, State.ROOT_FIELDS);
+        }
+        return switch (field) {
+            case "mempool-transactions" -> State.MEMPOOL_TRANSACTIONS_FIELDS;
+            case "fees" -> {
+                fastestFee = Double.NaN;
+                halfHourFee = Double.NaN;
+                hourFee = Double.NaN;
+                economyFee = Double.NaN;
+                yield State.FEES_FIELDS;
+            }
+            case "mempoolInfo" -> {
+                mempoolInfoSize = -1;
+                yield State.MEMPOOL_INFO_FIELDS;
+            }
+            default -> skip(token, State.ROOT_FIELDS);
+        };
+    }
+
+    private State readFeesField(JsonParser activeParser, JsonToken token) throws IOException {
+        if (!token.isNumeric()) {
+            return skip(token, State.FEES_FIELDS);
+        }
+        switch (field) {
+            case "fastestFee" -> fastestFee = activeParser.getDoubleValue();
+            case "halfHourFee" -> halfHourFee = activeParser.getDoubleValue();
+            case "hourFee" -> hourFee = activeParser.getDoubleValue();
+            case "economyFee" -> economyFee = activeParser.getDoubleValue();
+            default -> {
+                // minimumFee and whatever else gets added upstream
+            }
+        }
+        return State.FEES_FIELDS;
+    }
+
+    private void endFees() {
+        if (Double.isNaN(fastestFee) || Double.isNaN(halfHourFee) || Double.isNaN(hourFee)) {
+            return;
+        }
+        listener.fees(new RecommendedTransactionFeeDTO(fastestFee, halfHourFee, hourFee,
+                Double.isNaN(economyFee) ? hourFee : economyFee));
+    }
+
+    private State deltaArray() {
+        return switch (field) {
+            case "added" -> State.ADDED;
+            case "removed", "mined" -> {
+                mined = "mined".equals(field);
+                yield State.TXIDS;
+            }
+            case "replaced" -> State.REPLACED;
+            default -> skip(JsonToken.START_ARRAY, State.MEMPOOL_TRANSACTIONS_FIELDS);
+        };
+    }
+
+    private State readReplacementField(JsonParser activeParser, JsonToken token) throws IOException {
+        if ("replaced".equals(field) && token == JsonToken.VALUE_STRING) {
+            replacedTxid = readTxid(activeParser);
+            return State.REPLACEMENT_FIELDS;
+        }
+        if ("replaced".equals(field) && token == JsonToken.START_OBJECT) {
+            startTxidObject(State.REPLACEMENT_FIELDS);
+            return State.TXID_OBJECT_FIELDS;
+        }
+        if ("by".equals(field) && token == JsonToken.START_OBJECT) {
+            startTransaction(State.REPLACEMENT_FIELDS);
+            return State.TRANSACTION_FIELDS;
+        }
+        return skip(token, State.REPLACEMENT_FIELDS);
+    }
+
+    private void startTxidObject(State end) {
+        objectTxid = null;
+        txidObjectEnd = end;
+    }
+
+    private void endTxidObject() {
+        if (txidObjectEnd == State.TXIDS) {
+            txidDelta(objectTxid);
+        } else {
+            replacedTxid = objectTxid;
+        }
+    }
+
+    private static TxId readTxid(JsonParser activeParser) throws IOException {
+        return TxId.tryParse(activeParser.getTextCharacters(), activeParser.getTextOffset(), activeParser.getTextLength());
+    }
+
+    private void txidDelta(TxId txid) {
+        if (txid == null) {
+            return;
+        }
+        if (mined) {
+            listener.mined(txid);
+        } else {
+            listener.removed(txid);
+        }
+    }
+
+    private State readTransactionField(JsonParser activeParser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return State.TRANSACTION_FIELDS;
+        }
+        switch (field) {
+            case "txid" -> txid = token == JsonToken.VALUE_STRING ? readTxid(activeParser) : null;
+            case "vsize" -> vSize = activeParser.getIntValue();
+            case "fee" -> fee = activeParser.getLongValue();
+            case "feePerVsize" -> feePerVSize = FeeRate.fromDouble(activeParser.getDoubleValue());
+            case "firstSeen" -> firstSeen = Instant.ofEpochSecond(activeParser.getLongValue());
+            default -> {
+                return skip(token, State.TRANSACTION_FIELDS);
+            }
+        }
+        return State.TRANSACTION_FIELDS;
+    }
+
+    private void startTransaction(State end) {
+        transactionEnd = end;
+        txid = null;
+        vSize = 0;
+        fee = 0;
+        feePerVSize = 0;
+        firstSeen = null;
+    }
+
+    private void endTransaction() {
+        if (txid == null) {
+            return;
+        }
+        var transaction = new Transaction(txid, feePerVSize, fee, vSize, firstSeen, frameReceivedAt);
+        if (transactionEnd == State.ADDED) {
+            listener.added(transaction);
+            decoded++;
+        } else {
+            replacement = transaction;
+        }
+    }
+
+    private void closeParser() {
+        if (parser != null) {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // nothing to release for an in-memory parser
+            }
+            parser = null;
+        }
+    }
+}
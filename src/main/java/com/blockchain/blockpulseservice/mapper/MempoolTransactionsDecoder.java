@@ -0,0 +1,41 @@
+package com.blockchain.blockpulseservice.mapper;
+
+import com.blockchain.blockpulseservice.model.Transaction;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Streams {@code mempool-transactions} deltas out of websocket frames straight into {@link Transaction}s
+ * and txids.
+ * <p>
+ * Unlike binding the frame to {@link com.blockchain.blockpulseservice.model.dto.MempoolTransactionsDTOWrapper}
+ * and mapping it with {@link TransactionMapper}, no intermediate object graph is built: unknown fields
+ * (vin, vout, witnesses...) are skipped token by token and every transaction is handed over as soon as its
+ * closing brace is read. See {@link MempoolFrameDecoder} for feeding a frame fragment by fragment.
+ */
+@Component
+public class MempoolTransactionsDecoder {
+    private final JsonFactory jsonFactory;
+
+    public MempoolTransactionsDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public MempoolFrameDecoder newFrameDecoder(MempoolDeltaListener listener) {
+        return new MempoolFrameDecoder(jsonFactory, listener);
+    }
+
+    /**
+     * Decodes one complete frame.
+     *
+     * @return number of added transactions handed to the listener
+     */
+    public int decode(String frame, MempoolDeltaListener listener) throws IOException {
+        var frameDecoder = newFrameDecoder(listener);
+        frameDecoder.feed(frame);
+        return frameDecoder.endOfFrame();
+    }
+}
@@ -1,7 +1,9 @@
 package com.blockchain.blockpulseservice.mapper;
 
 import com.blockchain.blockpulseservice.model.dto.MempoolTransactionsDTOWrapper;
+import com.blockchain.blockpulseservice.model.FeeRate;
 import com.blockchain.blockpulseservice.model.Transaction;
+import com.blockchain.blockpulseservice.model.TxId;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -9,9 +11,10 @@ import java.util.List;
 @Component
 public class TransactionMapper {
     public List<Transaction> mapToTransaction(List<MempoolTransactionsDTOWrapper.TransactionDTO> transactionDTOS) {
+        var receivedAt = System.nanoTime();
         return transactionDTOS.stream()
                 .map(t ->
-                        new Transaction(t.id(), t.feePerVSize(), t.fee(), t.vSize(), t.firstSeen()))
+                        new Transaction(TxId.fromHex(t.id()), FeeRate.fromDouble(t.feePerVSize()), t.fee(), t.vSize(), t.firstSeen(), receivedAt))
                 .toList();
     }
 }
\ No newline at end of file
@@ -1,28 +1,62 @@
 package com.blockchain.blockpulseservice.model;
 
-import lombok.Builder;
-import lombok.Value;
+import lombok.Getter;
+import lombok.Setter;
 
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Set;
 
-@Builder(toBuilder = true)
-@Value
+/**
+ * Mutable analysis state that analyzers write into. Each analyzing thread owns one instance and
+ * {@link #reset resets} it for every transaction, so running the chain allocates nothing; patterns are
+ * kept as a bitmask and only turned into a {@link Set} when the result is mapped to a DTO.
+ */
+@Getter
 public class AnalysisContext {
     // input
-    Transaction newTransaction;
-    TransactionWindowSnapshot transactionWindowSnapshot;
-    MempoolStats mempoolStats;
+    private Transaction newTransaction;
+    private TransactionWindowSnapshot transactionWindowSnapshot;
+    private MempoolStats mempoolStats;
     //output
-    @Builder.Default
-    Set<PatternType> patterns = new HashSet<>();
-    FeeClassification feeClassification;
-    @Builder.Default
-    boolean isOutlier = false;
-
-    public AnalysisContextBuilder addInsight(PatternType insight) {
-        Set<PatternType> updatedInsights = new HashSet<>(this.patterns);
-        updatedInsights.add(insight);
-        return this.toBuilder().patterns(updatedInsights);
+    private int patternMask;
+    @Setter
+    private FeeClassification feeClassification;
+    private boolean isOutlier;
+
+    public AnalysisContext reset(Transaction newTransaction,
+                                 TransactionWindowSnapshot transactionWindowSnapshot,
+                                 MempoolStats mempoolStats) {
+        this.newTransaction = newTransaction;
+        this.transactionWindowSnapshot = transactionWindowSnapshot;
+        this.mempoolStats = mempoolStats;
+        this.patternMask = 0;
+        this.feeClassification = null;
+        this.isOutlier = false;
+        return this;
+    }
+
+    public void markOutlier() {
+        this.isOutlier = true;
+    }
+
+    public void addInsight(PatternType insight) {
+        this.patternMask |= 1 << insight.ordinal();
+    }
+
+    public boolean hasInsight(PatternType insight) {
+        return (patternMask & (1 << insight.ordinal())) != 0;
+    }
+
+    public Set<PatternType> getPatterns() {
+        if (patternMask == 0) {
+            return Set.of();
+        }
+        var patterns = EnumSet.noneOf(PatternType.class);
+        for (var pattern : PatternType.values()) {
+            if (hasInsight(pattern)) {
+                patterns.add(pattern);
+            }
+        }
+        return patterns;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.blockchain.blockpulseservice.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable projection of the next blocks, replaced as a whole after every frame.
+ *
+ * @param blocks only blocks that take at least one transaction, so fewer than requested when the mempool is small
+ */
+public record FeeProjection(List<ProjectedBlock> blocks,
+                            long mempoolVsize,
+                            Instant computedAt) {
+    public static final FeeProjection EMPTY = new FeeProjection(List.of(), 0, Instant.EPOCH);
+}
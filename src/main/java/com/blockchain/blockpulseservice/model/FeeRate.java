@@ -0,0 +1,27 @@
+package com.blockchain.blockpulseservice.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fee rates travel through the ingest → window → analysis path as scaled longs in milli-sat/vB,
+ * so fee math on the hot path never allocates. Decimal values only exist at the DTO/JSON edge.
+ */
+public final class FeeRate {
+    public static final int DECIMALS = 3;
+    public static final long SCALE = 1000L;
+
+    private FeeRate() {}
+
+    public static long fromDouble(double satPerVByte) {
+        return Math.round(satPerVByte * SCALE);
+    }
+
+    public static BigDecimal toDecimal(long milliSatPerVByte) {
+        return BigDecimal.valueOf(milliSatPerVByte, DECIMALS);
+    }
+
+    public static long fromDecimal(BigDecimal satPerVByte) {
+        return satPerVByte.setScale(DECIMALS, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+}
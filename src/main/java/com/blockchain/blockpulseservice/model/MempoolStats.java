@@ -1,6 +1,9 @@
 package com.blockchain.blockpulseservice.model;
 
-public record MempoolStats(double fastFeePerVByte,
-                           double mediumFeePerVByte,
-                           double slowFeePerVByte,
-                           int mempoolSize) {}
\ No newline at end of file
+/**
+ * Recommended fee rates are in milli-sat/vB (see {@link FeeRate}).
+ */
+public record MempoolStats(long fastFeePerVByte,
+                           long mediumFeePerVByte,
+                           long slowFeePerVByte,
+                           int mempoolSize) {}
@@ -0,0 +1,12 @@
+package com.blockchain.blockpulseservice.model;
+
+/**
+ * One block of a projected template, filled greedily from the highest fee rates down.
+ * Fee rates are in milli-sat/vB (see {@link FeeRate}).
+ *
+ * @param vsize vbytes taken from the mempool, less than a full block for the last, partly filled one
+ */
+public record ProjectedBlock(long minFeeRate,
+                             long medianFeeRate,
+                             long maxFeeRate,
+                             long vsize) {}
@@ -0,0 +1,41 @@
+package com.blockchain.blockpulseservice.model;
+
+import com.blockchain.blockpulseservice.model.dto.AnalyzedTransactionDTO;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Server-side filter of a stream subscription. Empty sets and a {@code null} minimum fee rate match
+ * everything; values are normalized so that equal query strings give equal filters.
+ *
+ * @param patternTypes matches transactions showing at least one of the patterns
+ * @param minFeeRate   inclusive, in sat/vB
+ */
+public record SubscriptionFilter(Set<FeeClassification> feeClassifications,
+                                 Set<PatternType> patternTypes,
+                                 boolean outliersOnly,
+                                 BigDecimal minFeeRate) {
+    public static final SubscriptionFilter ALL = new SubscriptionFilter(Set.of(), Set.of(), false, null);
+
+    public SubscriptionFilter {
+        feeClassifications = feeClassifications == null ? Set.of() : Set.copyOf(feeClassifications);
+        patternTypes = patternTypes == null ? Set.of() : Set.copyOf(patternTypes);
+        // 5 and 5.000 must share a stream
+        minFeeRate = minFeeRate == null || minFeeRate.signum() <= 0 ? null : minFeeRate.stripTrailingZeros();
+    }
+
+    public boolean matches(AnalyzedTransactionDTO dto) {
+        if (outliersOnly && !dto.isOutlier()) {
+            return false;
+        }
+        if (!feeClassifications.isEmpty() && !feeClassifications.contains(dto.feeClassification())) {
+            return false;
+        }
+        if (!patternTypes.isEmpty() && Collections.disjoint(patternTypes, dto.patternTypes())) {
+            return false;
+        }
+        return minFeeRate == null || dto.feePerVByte().compareTo(minFeeRate) >= 0;
+    }
+}
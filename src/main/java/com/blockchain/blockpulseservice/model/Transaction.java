@@ -1,13 +1,16 @@
 package com.blockchain.blockpulseservice.model;
 
-import java.math.BigDecimal;
 import java.time.Instant;
-import java.util.Objects;
 
-public record Transaction(String hash, BigDecimal feePerVSize, BigDecimal totalFee, int vSize, Instant time) implements Comparable<Transaction> {
+/**
+ * @param feePerVSize fee rate in milli-sat/vB (see {@link FeeRate})
+ * @param totalFee    absolute fee in sats
+ * @param receivedAt  {@link System#nanoTime()} when the frame carrying the transaction started arriving
+ */
+public record Transaction(TxId hash, long feePerVSize, long totalFee, int vSize, Instant time, long receivedAt) implements Comparable<Transaction> {
     @Override
     public int compareTo(Transaction other) {
-        int cmp = this.feePerVSize.compareTo(other.feePerVSize);
+        int cmp = Long.compare(this.feePerVSize, other.feePerVSize);
         return cmp == 0 ? this.hash.compareTo(other.hash()) : cmp;
     }
 
@@ -20,6 +23,6 @@ public record Transaction(String hash, BigDecimal feePerVSize, BigDecimal totalF
 
     @Override
     public int hashCode() {
-        return Objects.hash(hash);
+        return hash.hashCode();
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,16 @@
 package com.blockchain.blockpulseservice.model;
 
-import java.math.BigDecimal;
-
-import static java.math.BigDecimal.ZERO;
-
+/**
+ * Fee rates are in milli-sat/vB (see {@link FeeRate}).
+ */
 public record TransactionWindowSnapshot(int transactionsCount,
-                                        BigDecimal avgFeePerVByte,
-                                        BigDecimal medianFeePerVByte,
+                                        long avgFeePerVByte,
+                                        long medianFeePerVByte,
                                         int outliersCount,
-                                        BigDecimal outlierFeePerVBytePercentile,
-                                        BigDecimal firstQuartile,
-                                        BigDecimal thirdQuartile) {
+                                        long outlierFeePerVBytePercentile,
+                                        long firstQuartile,
+                                        long thirdQuartile) {
     public static TransactionWindowSnapshot empty() {
-        return new TransactionWindowSnapshot(0, ZERO, ZERO, 0, ZERO,  ZERO,ZERO);
+        return new TransactionWindowSnapshot(0, 0, 0, 0, 0, 0, 0);
     }
-}
\ No newline at end of file
+}
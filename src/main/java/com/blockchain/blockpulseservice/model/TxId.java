@@ -0,0 +1,94 @@
+package com.blockchain.blockpulseservice.model;
+
+/**
+ * A 32-byte txid held as four longs, most significant first, in the byte order of its usual hex rendering.
+ * Decoded once at ingest; hex is only rendered again for the outgoing DTO, logs and JFR events.
+ * <p>
+ * Ordering compares the words unsigned, which matches comparing the lowercase hex strings.
+ */
+public record TxId(long w0, long w1, long w2, long w3) implements Comparable<TxId> {
+    public static final int HEX_LENGTH = 64;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    public static TxId fromHex(CharSequence hex) {
+        if (hex == null || hex.length() != HEX_LENGTH) {
+            throw new IllegalArgumentException("Txid must be " + HEX_LENGTH + " hex digits: " + hex);
+        }
+        return new TxId(word(hex, 0), word(hex, 16), word(hex, 32), word(hex, 48));
+    }
+
+    /**
+     * Decodes a txid straight from a parser's character buffer, without creating a String.
+     *
+     * @return {@code null} if the characters are not 64 hex digits
+     */
+    public static TxId tryParse(char[] chars, int offset, int length) {
+        if (length != HEX_LENGTH) {
+            return null;
+        }
+        long w0 = 0, w1 = 0, w2 = 0, w3 = 0;
+        for (int i = 0; i < 16; i++) {
+            var d0 = Character.digit(chars[offset + i], 16);
+            var d1 = Character.digit(chars[offset + 16 + i], 16);
+            var d2 = Character.digit(chars[offset + 32 + i], 16);
+            var d3 = Character.digit(chars[offset + 48 + i], 16);
+            if ((d0 | d1 | d2 | d3) < 0) {
+                return null;
+            }
+            w0 = w0 << 4 | d0;
+            w1 = w1 << 4 | d1;
+            w2 = w2 << 4 | d2;
+            w3 = w3 << 4 | d3;
+        }
+        return new TxId(w0, w1, w2, w3);
+    }
+
+    public String toHex() {
+        var chars = new char[HEX_LENGTH];
+        render(w0, chars, 0);
+        render(w1, chars, 16);
+        render(w2, chars, 32);
+        render(w3, chars, 48);
+        return new String(chars);
+    }
+
+    @Override
+    public int compareTo(TxId other) {
+        int cmp = Long.compareUnsigned(w0, other.w0);
+        if (cmp != 0) return cmp;
+        cmp = Long.compareUnsigned(w1, other.w1);
+        if (cmp != 0) return cmp;
+        cmp = Long.compareUnsigned(w2, other.w2);
+        return cmp != 0 ? cmp : Long.compareUnsigned(w3, other.w3);
+    }
+
+    @Override
+    public int hashCode() {
+        // txids are hash output already, folding the first word is enough
+        return (int) (w0 ^ (w0 >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+
+    private static long word(CharSequence hex, int from) {
+        long word = 0;
+        for (int i = from; i < from + 16; i++) {
+            var digit = Character.digit(hex.charAt(i), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Txid must be " + HEX_LENGTH + " hex digits: " + hex);
+            }
+            word = word << 4 | digit;
+        }
+        return word;
+    }
+
+    private static void render(long word, char[] chars, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX_DIGITS[(int) (word & 0xF)];
+            word >>>= 4;
+        }
+    }
+}
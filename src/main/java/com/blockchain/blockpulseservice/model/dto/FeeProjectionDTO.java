@@ -0,0 +1,9 @@
+package com.blockchain.blockpulseservice.model.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record FeeProjectionDTO(Instant computedAt,
+                               boolean warm,
+                               long mempoolVsize,
+                               List<ProjectedBlockDTO> blocks) {}
@@ -2,7 +2,6 @@ package com.blockchain.blockpulseservice.model.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 
@@ -10,9 +9,9 @@ public record MempoolTransactionsDTOWrapper(@JsonProperty("mempool-transactions"
     public record MempoolTransactionsDTO(List<TransactionDTO> added) {}
     public record TransactionDTO(@JsonProperty("txid") String id,
                                  @JsonProperty("vsize") int vSize,
-                                 @JsonProperty("fee") BigDecimal fee,
-                                 @JsonProperty("feePerVsize") BigDecimal feePerVSize,
+                                 @JsonProperty("fee") long fee,
+                                 @JsonProperty("feePerVsize") double feePerVSize,
                                  @JsonProperty("firstSeen") Instant firstSeen
     ) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,8 @@
+package com.blockchain.blockpulseservice.model.dto;
+
+import java.math.BigDecimal;
+
+public record ProjectedBlockDTO(BigDecimal minFeePerVByte,
+                                BigDecimal medianFeePerVByte,
+                                BigDecimal maxFeePerVByte,
+                                long vsize) {}
@@ -0,0 +1,68 @@
+package com.blockchain.blockpulseservice.service;
+
+import com.blockchain.blockpulseservice.mapper.AnalysisBinaryCodec;
+import com.blockchain.blockpulseservice.model.dto.AnalyzedTransactionDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * A published analysis together with its JSON and binary encodings, each produced at most once however
+ * many subscribers the event is written to. Encoding is deferred to the first write because most published
+ * events are sampled away before reaching any subscriber.
+ */
+public final class AnalysisEvent {
+    private final AnalyzedTransactionDTO dto;
+    private final ObjectWriter writer;
+    private final long publishedNanos = System.nanoTime();
+    private volatile byte[] json;
+    private volatile byte[] binary;
+
+    AnalysisEvent(AnalyzedTransactionDTO dto, ObjectWriter writer) {
+        this.dto = dto;
+        this.writer = writer;
+    }
+
+    public AnalyzedTransactionDTO dto() {
+        return dto;
+    }
+
+    /**
+     * {@link System#nanoTime()} when the event was published.
+     */
+    public long publishedNanos() {
+        return publishedNanos;
+    }
+
+    /**
+     * The encoded event. Shared between subscribers, callers must not modify it.
+     */
+    public byte[] json() {
+        var encoded = json;
+        if (encoded == null) {
+            // racing subscribers may both encode; they produce identical bytes and one of them is kept
+            encoded = encode();
+            json = encoded;
+        }
+        return encoded;
+    }
+
+    /**
+     * The {@link AnalysisBinaryCodec#TRANSACTION} record of the event, shared like {@link #json()}.
+     */
+    public byte[] binary() {
+        var encoded = binary;
+        if (encoded == null) {
+            encoded = AnalysisBinaryCodec.encodeTransaction(dto);
+            binary = encoded;
+        }
+        return encoded;
+    }
+
+    private byte[] encode() {
+        try {
+            return writer.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode analyzed transaction " + dto.id(), e);
+        }
+    }
+}
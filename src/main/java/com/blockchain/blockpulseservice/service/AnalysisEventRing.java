@@ -0,0 +1,65 @@
+package com.blockchain.blockpulseservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pre-allocated ring of the most recently published events, indexed by {@code seq & mask} for O(1)
+ * lookups. Written by the single publishing thread of {@link OrderedAnalysisPublisher}, read by any number
+ * of resuming subscribers; a slot that was overwritten by a newer sequence number reads as missing.
+ */
+public class AnalysisEventRing {
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private final AtomicReferenceArray<AnalysisEvent> slots;
+    private final int mask;
+    private volatile int latestSeq;
+
+    public AnalysisEventRing(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            // above 2^30 rounding up to a power of two overflows
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ": " + capacity);
+        }
+        var size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public void add(AnalysisEvent event) {
+        var seq = event.dto().seq();
+        slots.set(seq & mask, event);
+        latestSeq = seq;
+    }
+
+    public AnalysisEvent get(int seq) {
+        var event = slots.get(seq & mask);
+        return event != null && event.dto().seq() == seq ? event : null;
+    }
+
+    public int latestSeq() {
+        return latestSeq;
+    }
+
+    /**
+     * Copies the retained events after {@code afterSeq} up to and including {@code upToSeq}, in order.
+     * Sequence numbers of failed transactions and events already overwritten are absent. Sequence numbers
+     * are compared by their difference, so the range may span the wrap from {@link Integer#MAX_VALUE}.
+     */
+    public List<AnalysisEvent> range(int afterSeq, int upToSeq) {
+        var count = Math.min(upToSeq - afterSeq, mask + 1);
+        var events = new ArrayList<AnalysisEvent>(Math.max(0, count));
+        var seq = upToSeq - count;
+        for (int i = 0; i < count; i++) {
+            var event = get(++seq);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -1,25 +1,57 @@
 package com.blockchain.blockpulseservice.service;
 
 import com.blockchain.blockpulseservice.model.dto.AnalyzedTransactionDTO;
+import com.blockchain.blockpulseservice.tracing.TransactionPublishedEvent;
+import com.blockchain.blockpulseservice.tracing.TransactionTracing;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
 
-import java.time.Duration;
-
 @Service
 public class AnalysisStream {
 
     // Keeps only the most recent item; new subscribers get it immediately.
-    private final Sinks.Many<AnalyzedTransactionDTO> sink = Sinks.many().replay().latest();
+    private final Sinks.Many<AnalysisEvent> sink = Sinks.many().replay().latest();
+    private final ObjectWriter writer;
+    private final AnalysisEventRing recentEvents;
+
+    public AnalysisStream(ObjectMapper objectMapper,
+                          @Value("${app.sse.replay-ring-size:4096}") int replayRingSize) {
+        this.writer = objectMapper.writerFor(AnalyzedTransactionDTO.class);
+        this.recentEvents = new AnalysisEventRing(replayRingSize);
+    }
 
-    /** Push a new snapshot (non-blocking). */
-    public void publish(AnalyzedTransactionDTO dto) {
-        sink.tryEmitNext(dto); // ignore backpressure; latest wins
+    /**
+     * Push a new snapshot (non-blocking).
+     *
+     * @param receivedAt {@link System#nanoTime()} when the frame carrying the source transaction arrived
+     */
+    public void publish(AnalyzedTransactionDTO dto, long receivedAt) {
+        var analysisEvent = new AnalysisEvent(dto, writer);
+        // into the ring first, so a resuming subscriber never sees a live event missing from its replay
+        recentEvents.add(analysisEvent);
+        sink.tryEmitNext(analysisEvent); // ignore backpressure; latest wins
+        if (TransactionTracing.isSampled(dto.id())) {
+            var event = new TransactionPublishedEvent();
+            if (event.shouldCommit()) {
+                event.txid = dto.id();
+                event.seq = dto.seq();
+                event.latency = System.nanoTime() - receivedAt;
+                event.commit();
+            }
+        }
     }
 
-    /** Public flux for the controller. */
-    public Flux<AnalyzedTransactionDTO> flux() {
+    /** Public flux for the controller; events carry their shared encoding. */
+    public Flux<AnalysisEvent> flux() {
         return sink.asFlux();
     }
-}
\ No newline at end of file
+
+    /** Recently published events for subscribers resuming with {@code Last-Event-ID}. */
+    public AnalysisEventRing recentEvents() {
+        return recentEvents;
+    }
+}
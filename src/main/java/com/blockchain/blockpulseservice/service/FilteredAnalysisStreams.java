@@ -0,0 +1,106 @@
+package com.blockchain.blockpulseservice.service;
+
+import com.blockchain.blockpulseservice.model.SubscriptionFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One shared, sampled stream per distinct {@link SubscriptionFilter}. Each published transaction is tested
+ * once per distinct filter rather than once per connection; subscribers with the same filter receive the
+ * same sampled events. A stream is dropped from the index when its last subscriber leaves.
+ */
+@Slf4j
+@Service
+public class FilteredAnalysisStreams {
+    private static final Duration SAMPLE_PERIOD = Duration.ofSeconds(2);
+
+    private final AnalysisStream analysisStream;
+    private final Map<SubscriptionFilter, Flux<AnalysisEvent>> streams = new ConcurrentHashMap<>();
+    private final Counter replayedEvents;
+
+    public FilteredAnalysisStreams(AnalysisStream analysisStream, MeterRegistry meterRegistry) {
+        this.analysisStream = analysisStream;
+        Gauge.builder("blockpulse.sse.filters", streams, Map::size)
+                .description("Distinct subscription filters with a shared stream")
+                .register(meterRegistry);
+        this.replayedEvents = Counter.builder("blockpulse.sse.replayed")
+                .description("Events replayed to subscribers resuming with Last-Event-ID")
+                .register(meterRegistry);
+    }
+
+    public Flux<AnalysisEvent> flux(SubscriptionFilter filter) {
+        return streams.computeIfAbsent(filter, this::share);
+    }
+
+    /**
+     * The retained events after {@code lastSeq} that match the filter, sampled like the live stream, then
+     * the shared live stream. The live stream is subscribed to and buffered before the ring is read, so
+     * nothing published in between is lost, and live events already covered by the replay are skipped.
+     */
+    public Flux<AnalysisEvent> resume(SubscriptionFilter filter, int lastSeq) {
+        return Flux.defer(() -> {
+            var live = Sinks.many().unicast().<AnalysisEvent>onBackpressureBuffer();
+            var liveSubscription = flux(filter).subscribe(live::tryEmitNext, live::tryEmitError, live::tryEmitComplete);
+            var ring = analysisStream.recentEvents();
+            var upToSeq = ring.latestSeq();
+            var replay = sampled(ring.range(lastSeq, upToSeq), filter);
+            replayedEvents.increment(replay.size());
+            log.debug("Replaying {} events after seq {} for filter {}", replay.size(), lastSeq, filter);
+            return Flux.fromIterable(replay)
+                    .concatWith(live.asFlux().filter(event -> event.dto().seq() - upToSeq > 0))
+                    .doFinally(signal -> liveSubscription.dispose());
+        });
+    }
+
+    /**
+     * The last matching event of each {@link #SAMPLE_PERIOD}, as the live stream's {@code sample} would have
+     * emitted them. Periods are aligned to the clock rather than to a subscription.
+     */
+    private static List<AnalysisEvent> sampled(List<AnalysisEvent> events, SubscriptionFilter filter) {
+        var periodNanos = SAMPLE_PERIOD.toNanos();
+        var sampled = new ArrayList<AnalysisEvent>();
+        var lastPeriod = 0L;
+        for (var event : events) {
+            if (!filter.matches(event.dto())) {
+                continue;
+            }
+            var period = Math.floorDiv(event.publishedNanos(), periodNanos);
+            if (!sampled.isEmpty() && period == lastPeriod) {
+                sampled.set(sampled.size() - 1, event);
+            } else {
+                sampled.add(event);
+            }
+            lastPeriod = period;
+        }
+        return sampled;
+    }
+
+    private Flux<AnalysisEvent> share(SubscriptionFilter filter) {
+        log.debug("Sharing stream for filter {}", filter);
+        var source = SubscriptionFilter.ALL.equals(filter)
+                ? analysisStream.flux()
+                : analysisStream.flux().filter(event -> filter.matches(event.dto()));
+        // a late subscriber to a stream that was just removed still works: refCount reconnects it, at worst
+        // two streams briefly serve the same filter
+        var shared = new AtomicReference<Flux<AnalysisEvent>>();
+        shared.set(source
+                .sample(SAMPLE_PERIOD)
+                // only this stream: a newer one may already have replaced it for the filter
+                .doFinally(signal -> streams.remove(filter, shared.get()))
+                .publish()
+                .refCount());
+        return shared.get();
+    }
+}
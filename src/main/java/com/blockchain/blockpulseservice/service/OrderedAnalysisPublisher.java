@@ -0,0 +1,83 @@
+package com.blockchain.blockpulseservice.service;
+
+import com.blockchain.blockpulseservice.model.dto.AnalyzedTransactionDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequencer between the analysis workers and {@link AnalysisStream}: workers complete chunks of
+ * consecutive sequence numbers in any order, chunks are published strictly in sequence order.
+ */
+@Slf4j
+@Component
+public class OrderedAnalysisPublisher {
+    private final AnalysisStream analysisStream;
+    private final Timer pipelineLatency;
+    private final Timer firstSeenAge;
+    private final Map<Integer, Chunk> pendingChunks = new HashMap<>();
+    private int nextSeq = 1;
+
+    public OrderedAnalysisPublisher(AnalysisStream analysisStream, MeterRegistry meterRegistry) {
+        this.analysisStream = analysisStream;
+        this.pipelineLatency = Timer.builder("blockpulse.pipeline.latency")
+                .description("Time from receipt of the websocket frame to publication of the analyzed transaction")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+        this.firstSeenAge = Timer.builder("blockpulse.pipeline.first-seen.age")
+                .description("Time from mempool.space first seeing the transaction to its publication, second resolution")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param firstSeq    sequence number of {@code results[0]}; {@code null} entries are failed
+     *                    transactions whose sequence number is skipped
+     * @param receivedAts {@link com.blockchain.blockpulseservice.model.Transaction#receivedAt()} of the
+     *                    source transaction of each result
+     */
+    public synchronized void complete(int firstSeq, AnalyzedTransactionDTO[] results, long[] receivedAts) {
+        pendingChunks.put(firstSeq, new Chunk(results, receivedAts));
+        Chunk chunk;
+        while ((chunk = pendingChunks.remove(nextSeq)) != null) {
+            var now = System.nanoTime();
+            var nowMillis = System.currentTimeMillis();
+            for (int i = 0; i < chunk.results().length; i++) {
+                var result = chunk.results()[i];
+                if (result != null) {
+                    publish(result, chunk.receivedAts()[i], now, nowMillis);
+                }
+            }
+            nextSeq += chunk.results().length;
+        }
+    }
+
+    private void publish(AnalyzedTransactionDTO result, long receivedAt, long now, long nowMillis) {
+        try {
+            analysisStream.publish(result, receivedAt);
+            recordLatency(result, receivedAt, now, nowMillis);
+        } catch (RuntimeException e) {
+            // skipped like a failed analysis, the rest of the chunk and the chunks after it are still published
+            log.error("Failed to publish analyzed transaction {} with seq {}", result.id(), result.seq(), e);
+        }
+    }
+
+    private void recordLatency(AnalyzedTransactionDTO result, long receivedAt, long now, long nowMillis) {
+        pipelineLatency.record(now - receivedAt, TimeUnit.NANOSECONDS);
+        if (result.timestamp() != null) {
+            firstSeenAge.record(Math.max(0, nowMillis - result.timestamp().toEpochMilli()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private record Chunk(AnalyzedTransactionDTO[] results, long[] receivedAts) {}
+}
@@ -1,67 +1,138 @@
 package com.blockchain.blockpulseservice.service;
 
 import com.blockchain.blockpulseservice.client.rest.MempoolStatsUpdater;
+import com.blockchain.blockpulseservice.model.FeeRate;
+import com.blockchain.blockpulseservice.model.MempoolStats;
 import com.blockchain.blockpulseservice.model.dto.AnalyzedTransactionDTO;
 import com.blockchain.blockpulseservice.model.Transaction;
 import com.blockchain.blockpulseservice.model.AnalysisContext;
 import com.blockchain.blockpulseservice.service.analysis.TransactionAnalyzer;
+import com.blockchain.blockpulseservice.service.mempool.ProjectedBlockEstimator;
 import com.blockchain.blockpulseservice.model.TransactionWindowSnapshot;
 import com.blockchain.blockpulseservice.model.TransactionWindowSnapshotDTO;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class TransactionAnalyzerService {
     private final AtomicInteger txSequence = new AtomicInteger(0);
+    private final ThreadLocal<AnalysisContext> analysisContexts = ThreadLocal.withInitial(AnalysisContext::new);
     private final TransactionAnalyzer analysisChain;
-    private final AnalysisStream analysisStream;
+    private final OrderedAnalysisPublisher publisher;
     private final MempoolStatsUpdater mempoolStatsUpdater;
+    private final ProjectedBlockEstimator projectedBlockEstimator;
+    private final ExecutorService analysisWorkers;
+    private final int workers;
+    private final int minChunkSize;
 
-    public void processTransaction(Transaction transaction, TransactionWindowSnapshot transactionWindowSnapshot) {
-        log.debug("Processing transaction: {}", transaction.hash());
+    public TransactionAnalyzerService(TransactionAnalyzer analysisChain,
+                                      OrderedAnalysisPublisher publisher,
+                                      MempoolStatsUpdater mempoolStatsUpdater,
+                                      ProjectedBlockEstimator projectedBlockEstimator,
+                                      ExecutorService analysisWorkers,
+                                      @Value("${app.analysis.workers:1}") int workers,
+                                      @Value("${app.analysis.min-chunk-size:64}") int minChunkSize) {
+        this.analysisChain = analysisChain;
+        this.publisher = publisher;
+        this.mempoolStatsUpdater = mempoolStatsUpdater;
+        this.projectedBlockEstimator = projectedBlockEstimator;
+        this.analysisWorkers = analysisWorkers;
+        this.workers = Math.max(1, workers);
+        this.minChunkSize = Math.max(1, minChunkSize);
+    }
+
+    /**
+     * Called from the sliding window thread. Sequence numbers are assigned here, the batch is split into
+     * chunks analyzed by the worker pool against the same immutable snapshot, and results are published
+     * in sequence order by {@link OrderedAnalysisPublisher}.
+     */
+    public void processTransactions(List<Transaction> transactions, TransactionWindowSnapshot transactionWindowSnapshot) {
+        // recommended fees projected from the local mempool mirror are fresher than the polled ones
+        var mempoolStats = projectedBlockEstimator.withProjectedFees(mempoolStatsUpdater.getMempoolStats());
+        var windowSnapshotDTO = mapToTransactionWindowSnapshotDTO(transactionWindowSnapshot);
+        var firstSeq = txSequence.getAndAdd(transactions.size()) + 1;
+
+        var chunks = Math.min(workers, Math.ceilDiv(transactions.size(), minChunkSize));
+        if (chunks <= 1) {
+            analyzeChunk(transactions, firstSeq, transactionWindowSnapshot, mempoolStats, windowSnapshotDTO);
+            return;
+        }
+        var chunkSize = Math.ceilDiv(transactions.size(), chunks);
+        for (int from = 0; from < transactions.size(); from += chunkSize) {
+            // the window thread reuses its batch list, so every chunk gets its own copy
+            var chunk = List.copyOf(transactions.subList(from, Math.min(from + chunkSize, transactions.size())));
+            var chunkFirstSeq = firstSeq + from;
+            analysisWorkers.execute(() ->
+                    analyzeChunk(chunk, chunkFirstSeq, transactionWindowSnapshot, mempoolStats, windowSnapshotDTO));
+        }
+    }
+
+    private void analyzeChunk(List<Transaction> transactions,
+                              int firstSeq,
+                              TransactionWindowSnapshot transactionWindowSnapshot,
+                              MempoolStats mempoolStats,
+                              TransactionWindowSnapshotDTO windowSnapshotDTO) {
+        var results = new AnalyzedTransactionDTO[transactions.size()];
+        var receivedAts = new long[results.length];
         try {
-            var context = AnalysisContext.builder()
-                    .newTransaction(transaction)
-                    .transactionWindowSnapshot(transactionWindowSnapshot)
-                    .mempoolStats(mempoolStatsUpdater.getMempoolStats())
-                    .build();
+            var context = analysisContexts.get();
+            for (int i = 0; i < results.length; i++) {
+                var transaction = transactions.get(i);
+                receivedAts[i] = transaction.receivedAt();
+                results[i] = processTransaction(context.reset(transaction, transactionWindowSnapshot, mempoolStats),
+                        firstSeq + i,
+                        windowSnapshotDTO);
+            }
+        } finally {
+            // whatever failed, the publisher must get the chunk or every later one stays pending;
+            // transactions not analyzed are left null and skipped
+            publisher.complete(firstSeq, results, receivedAts);
+        }
+    }
 
-            var result = analysisChain.analyze(context);
-            var analyzedTransaction = mapToAnalyzedTransaction(result);
+    private AnalyzedTransactionDTO processTransaction(AnalysisContext context, int seq, TransactionWindowSnapshotDTO windowSnapshotDTO) {
+        var transaction = context.getNewTransaction();
+        log.debug("Processing transaction: {}", transaction.hash());
+        try {
+            analysisChain.analyze(context);
+            var analyzedTransaction = mapToAnalyzedTransaction(context, seq, windowSnapshotDTO);
             log.debug("Analyzed transaction: {}", analyzedTransaction);
-            analysisStream.publish(analyzedTransaction);
+            return analyzedTransaction;
         } catch (Exception e) {
             log.error("Failed to process transaction {}: {}", transaction.hash(), e.getMessage(), e);
+            return null;
         }
     }
 
-    private AnalyzedTransactionDTO mapToAnalyzedTransaction(AnalysisContext context) {
+    private AnalyzedTransactionDTO mapToAnalyzedTransaction(AnalysisContext context, int seq, TransactionWindowSnapshotDTO windowSnapshotDTO) {
         return AnalyzedTransactionDTO.builder()
-                .id(context.getNewTransaction().hash())
-                .seq(txSequence.incrementAndGet())
+                .id(context.getNewTransaction().hash().toHex())
+                .seq(seq)
                 .producedAt(Instant.now())
-                .feePerVByte(context.getNewTransaction().feePerVSize())
-                .totalFee(context.getNewTransaction().totalFee())
+                .feePerVByte(FeeRate.toDecimal(context.getNewTransaction().feePerVSize()))
+                .totalFee(BigDecimal.valueOf(context.getNewTransaction().totalFee()))
                 .size(context.getNewTransaction().vSize())
                 .timestamp(context.getNewTransaction().time())
                 .patternTypes(context.getPatterns())
                 .feeClassification(context.getFeeClassification())
                 .isOutlier(context.isOutlier())
-                .windowSnapshot(mapToTransactionWindowSnapshotDTO(context.getTransactionWindowSnapshot()))
+                .windowSnapshot(windowSnapshotDTO)
                 .build();
     }
 
     private TransactionWindowSnapshotDTO mapToTransactionWindowSnapshotDTO(TransactionWindowSnapshot windowSnapshot) {
         return new TransactionWindowSnapshotDTO(
                 windowSnapshot.transactionsCount(),
-                windowSnapshot.avgFeePerVByte(),
-                windowSnapshot.medianFeePerVByte(),
+                FeeRate.toDecimal(windowSnapshot.avgFeePerVByte()),
+                FeeRate.toDecimal(windowSnapshot.medianFeePerVByte()),
                 windowSnapshot.outliersCount());
     }
 }
\ No newline at end of file
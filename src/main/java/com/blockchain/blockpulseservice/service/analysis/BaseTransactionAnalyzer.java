@@ -1,9 +1,18 @@
 package com.blockchain.blockpulseservice.service.analysis;
 
 import com.blockchain.blockpulseservice.model.AnalysisContext;
+import com.blockchain.blockpulseservice.tracing.TransactionAnalyzedEvent;
+import com.blockchain.blockpulseservice.tracing.TransactionTracing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 
-public abstract class BaseTransactionAnalyzer implements TransactionAnalyzer {
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public abstract class BaseTransactionAnalyzer implements TransactionAnalyzer, MeterBinder {
     private TransactionAnalyzer next;
+    private volatile Timer analyzeTimer;
 
     @Override
     public TransactionAnalyzer setNext(TransactionAnalyzer next) {
@@ -12,14 +21,47 @@ public abstract class BaseTransactionAnalyzer implements TransactionAnalyzer {
     }
 
     @Override
-    public final AnalysisContext analyze(AnalysisContext context) {
-        var updatedContext = doAnalyze(context);
-        
+    public final void analyze(AnalysisContext context) {
+        var timer = analyzeTimer;
+        var start = timer == null ? 0 : System.nanoTime();
+        if (TransactionTracing.isSampled(context.getNewTransaction().hash())) {
+            tracedAnalyze(context);
+        } else {
+            doAnalyze(context);
+        }
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
         if (next != null) {
-            return next.analyze(updatedContext);
+            next.analyze(context);
+        }
+    }
+
+    private void tracedAnalyze(AnalysisContext context) {
+        var event = new TransactionAnalyzedEvent();
+        event.begin();
+        doAnalyze(context);
+        if (event.shouldCommit()) {
+            event.txid = context.getNewTransaction().hash().toHex();
+            event.analyzer = getClass().getSimpleName();
+            event.commit();
         }
-        return updatedContext;
     }
 
-    protected abstract AnalysisContext doAnalyze(AnalysisContext context);
-}
\ No newline at end of file
+    /**
+     * Bound by Spring Boot for analyzer beans; analyzers created outside the context are not timed.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        analyzeTimer = Timer.builder("blockpulse.analysis.analyzer")
+                .description("Time spent in one analyzer of the chain for one transaction")
+                .tag("analyzer", getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofMillis(10))
+                .register(registry);
+    }
+
+    protected abstract void doAnalyze(AnalysisContext context);
+}
@@ -5,8 +5,6 @@ import com.blockchain.blockpulseservice.model.FeeClassification;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-
 @Component
 public class FeeClassificationAnalyzer extends BaseTransactionAnalyzer {
     private final int mempoolSizeThreshold;
@@ -17,11 +15,8 @@ public class FeeClassificationAnalyzer extends BaseTransactionAnalyzer {
     }
 
     @Override
-    protected AnalysisContext doAnalyze(AnalysisContext context) {
-        FeeClassification classification = classifyFee(context);
-        return context.toBuilder()
-                .feeClassification(classification)
-                .build();
+    protected void doAnalyze(AnalysisContext context) {
+        context.setFeeClassification(classifyFee(context));
     }
 
     private FeeClassification classifyFee(AnalysisContext context) {
@@ -29,9 +24,9 @@ public class FeeClassificationAnalyzer extends BaseTransactionAnalyzer {
         var feePerVSize = context.getNewTransaction().feePerVSize();
         if (mempoolStats.mempoolSize() > mempoolSizeThreshold) {
             // Network congested → use mempool recommended fees
-            if (feePerVSize.compareTo(BigDecimal.valueOf(mempoolStats.fastFeePerVByte())) > 0) {
+            if (feePerVSize > mempoolStats.fastFeePerVByte()) {
                 return FeeClassification.CHEAP;
-            } else if (feePerVSize.compareTo(BigDecimal.valueOf(mempoolStats.mediumFeePerVByte())) <= 0) {
+            } else if (feePerVSize <= mempoolStats.mediumFeePerVByte()) {
                 return FeeClassification.NORMAL;
             } else {
                 return FeeClassification.EXPENSIVE;
@@ -41,9 +36,9 @@ public class FeeClassificationAnalyzer extends BaseTransactionAnalyzer {
             var firstQuartile = context.getTransactionWindowSnapshot().firstQuartile();
             var thirdQuartile = context.getTransactionWindowSnapshot().thirdQuartile();
 
-            if (feePerVSize.compareTo(firstQuartile) < 0) {
+            if (feePerVSize < firstQuartile) {
                 return FeeClassification.CHEAP;
-            } else if (feePerVSize.compareTo(thirdQuartile) <= 0) {
+            } else if (feePerVSize <= thirdQuartile) {
                 return FeeClassification.NORMAL;
             } else {
                 return FeeClassification.EXPENSIVE;
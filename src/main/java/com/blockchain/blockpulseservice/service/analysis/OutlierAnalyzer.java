@@ -6,14 +6,10 @@ import org.springframework.stereotype.Component;
 @Component
 public class OutlierAnalyzer extends BaseTransactionAnalyzer {
     @Override
-    protected AnalysisContext doAnalyze(AnalysisContext context) {
+    protected void doAnalyze(AnalysisContext context) {
         var percentile = context.getTransactionWindowSnapshot().outlierFeePerVBytePercentile();
-        if (context.getNewTransaction().feePerVSize().compareTo(percentile) > 0) {
-            return context
-                    .toBuilder()
-                    .isOutlier(true)
-                    .build();
+        if (context.getNewTransaction().feePerVSize() > percentile) {
+            context.markOutlier();
         }
-        return context;
     }
 }
\ No newline at end of file
@@ -6,8 +6,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-
 @Slf4j
 @Component
 public class SurgeAnalyzer extends BaseTransactionAnalyzer {
@@ -18,7 +16,7 @@ public class SurgeAnalyzer extends BaseTransactionAnalyzer {
     }
 
     @Override
-    protected AnalysisContext doAnalyze(AnalysisContext context) {
+    protected void doAnalyze(AnalysisContext context) {
         var mempoolStats = context.getMempoolStats();
         var transaction = context.getNewTransaction();
         boolean isSurge = context.isOutlier() &&
@@ -26,14 +24,11 @@ public class SurgeAnalyzer extends BaseTransactionAnalyzer {
                 mempoolStats.mempoolSize() >= mempoolThreshold;
         if (isSurge) {
             log.debug("Surge detected for tx: {}", context.getNewTransaction().hash());
-            return context
-                    .addInsight(PatternType.SURGE)
-                    .build();
+            context.addInsight(PatternType.SURGE);
         }
-        return context;
     }
 
-    private boolean isFarBeyondRecommendedFastFee(BigDecimal feePerVSize, double fastFeePerVByte) {
-        return (feePerVSize.compareTo(BigDecimal.valueOf(fastFeePerVByte)) > 0);
+    private boolean isFarBeyondRecommendedFastFee(long feePerVSize, long fastFeePerVByte) {
+        return feePerVSize > fastFeePerVByte;
     }
 }
\ No newline at end of file
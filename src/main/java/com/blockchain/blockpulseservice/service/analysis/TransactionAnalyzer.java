@@ -3,6 +3,6 @@ package com.blockchain.blockpulseservice.service.analysis;
 import com.blockchain.blockpulseservice.model.AnalysisContext;
 
 public interface TransactionAnalyzer {
-    AnalysisContext analyze(AnalysisContext context);
+    void analyze(AnalysisContext context);
     TransactionAnalyzer setNext(TransactionAnalyzer next);
-}
\ No newline at end of file
+}
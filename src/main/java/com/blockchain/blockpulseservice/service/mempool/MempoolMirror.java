@@ -0,0 +1,363 @@
+package com.blockchain.blockpulseservice.service.mempool;
+
+import com.blockchain.blockpulseservice.mapper.MempoolDeltaListener;
+import com.blockchain.blockpulseservice.model.Transaction;
+import com.blockchain.blockpulseservice.model.TxId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Local copy of the upstream mempool, maintained from the {@code added}, {@code removed}, {@code mined} and
+ * {@code replaced} deltas of every frame, keyed by txid and ordered by fee rate.
+ * <p>
+ * Entries live in parallel primitive arrays (txid as four longs, fee rate, vsize) that double when full, so
+ * a few hundred thousand transactions cost tens of megabytes and no per-entry objects. Txids are found
+ * through an open-addressing table with linear probing; fee order is a treap over the same slots keyed by
+ * (fee rate descending, slot) and augmented with subtree vsize, which answers "fee rate at this many vbytes
+ * from the top" in O(log n).
+ * <p>
+ * Single writer: deltas and depth queries must come from the frame decoding under the
+ * {@code MempoolFrameHandler} lock.
+ * {@link #size()} and {@link #totalVsize()} may be read from anywhere.
+ */
+@Slf4j
+@Component
+public class MempoolMirror implements MempoolDeltaListener {
+    private static final int NIL = 0;
+    private static final int INITIAL_CAPACITY = 1 << 14;
+
+    private long[] txid0;
+    private long[] txid1;
+    private long[] txid2;
+    private long[] txid3;
+    private long[] feeRates;
+    private int[] vsizes;
+    private long[] subtreeVsizes;
+    private int[] left;
+    private int[] right;
+    private int[] priorities;
+    private int[] table;
+    private int root = NIL;
+    private int freeList = NIL;
+    private int nextUnused = 1;
+    private int seed = 0x9E3779B9;
+    private volatile int size;
+    private volatile long totalVsize;
+    private volatile long trackingSince = System.nanoTime();
+
+    private final Counter unknownRemovals;
+
+    public MempoolMirror(MeterRegistry meterRegistry) {
+        allocate(INITIAL_CAPACITY);
+        Gauge.builder("blockpulse.mempool.mirror.size", this, MempoolMirror::size)
+                .description("Transactions in the local mempool mirror")
+                .register(meterRegistry);
+        Gauge.builder("blockpulse.mempool.mirror.vsize", this, MempoolMirror::totalVsize)
+                .description("Total virtual size of the local mempool mirror")
+                .baseUnit("vbytes")
+                .register(meterRegistry);
+        this.unknownRemovals = Counter.builder("blockpulse.mempool.mirror.unknown-removals")
+                .description("Removed, mined or replaced txids that were not in the mirror, e.g. added before it started;"
+                        + " with a hot standby the second copy of every removal counts too")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void added(Transaction transaction) {
+        var txid = transaction.hash();
+        if (find(txid) != NIL) {
+            return;
+        }
+        int slot;
+        if (freeList != NIL) {
+            slot = freeList;
+            freeList = left[slot];
+        } else {
+            if (nextUnused == feeRates.length) {
+                grow();
+            }
+            slot = nextUnused++;
+        }
+        txid0[slot] = txid.w0();
+        txid1[slot] = txid.w1();
+        txid2[slot] = txid.w2();
+        txid3[slot] = txid.w3();
+        feeRates[slot] = transaction.feePerVSize();
+        vsizes[slot] = transaction.vSize();
+        subtreeVsizes[slot] = transaction.vSize();
+        left[slot] = NIL;
+        right[slot] = NIL;
+        priorities[slot] = nextPriority();
+        index(slot);
+        root = insert(root, slot);
+        size++;
+        totalVsize += transaction.vSize();
+    }
+
+    @Override
+    public void removed(TxId txid) {
+        remove(txid);
+    }
+
+    @Override
+    public void mined(TxId txid) {
+        remove(txid);
+    }
+
+    @Override
+    public void replaced(TxId replacedTxid, Transaction replacement) {
+        remove(replacedTxid);
+        if (replacement != null) {
+            added(replacement);
+        }
+    }
+
+    /**
+     * Forgets every entry, e.g. after a reconnection where deltas may have been missed.
+     */
+    public void clear() {
+        Arrays.fill(table, NIL);
+        root = NIL;
+        freeList = NIL;
+        nextUnused = 1;
+        size = 0;
+        totalVsize = 0;
+        trackingSince = System.nanoTime();
+    }
+
+    public boolean contains(TxId txid) {
+        return find(txid) != NIL;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long totalVsize() {
+        return totalVsize;
+    }
+
+    /**
+     * Time since the mirror was last cleared. Transactions added upstream before that are missing until
+     * they are replaced, so the low fee end of the mirror is only complete after a while.
+     */
+    public Duration trackedFor() {
+        return Duration.ofNanos(System.nanoTime() - trackingSince);
+    }
+
+    /**
+     * Fee rate of the transaction that covers the given depth when the mirror is sorted by fee rate,
+     * highest first.
+     *
+     * @param vsizeFromTop vbytes of higher paying transactions ahead of it
+     * @return fee rate in milli-sat/vB, or 0 if the mirror holds fewer vbytes than that
+     */
+    public long feeRateAtDepth(long vsizeFromTop) {
+        if (vsizeFromTop < 0) {
+            throw new IllegalArgumentException("Depth must not be negative: " + vsizeFromTop);
+        }
+        var node = root;
+        while (node != NIL) {
+            var leftVsize = subtreeVsizes[left[node]];
+            if (vsizeFromTop < leftVsize) {
+                node = left[node];
+            } else if (vsizeFromTop < leftVsize + vsizes[node]) {
+                return feeRates[node];
+            } else {
+                vsizeFromTop -= leftVsize + vsizes[node];
+                node = right[node];
+            }
+        }
+        return 0;
+    }
+
+    private void remove(TxId txid) {
+        var slot = find(txid);
+        if (slot == NIL) {
+            unknownRemovals.increment();
+            return;
+        }
+        root = delete(root, slot);
+        unindex(slot);
+        size--;
+        totalVsize -= vsizes[slot];
+        left[slot] = freeList;
+        right[slot] = NIL;
+        freeList = slot;
+    }
+
+    // --- txid index: linear probing over slots, NIL marks an empty bucket ---
+
+    private int find(TxId txid) {
+        var k0 = txid.w0();
+        var k1 = txid.w1();
+        var k2 = txid.w2();
+        var k3 = txid.w3();
+        var mask = table.length - 1;
+        for (int bucket = bucket(k0, mask); ; bucket = (bucket + 1) & mask) {
+            var slot = table[bucket];
+            if (slot == NIL
+                    || txid0[slot] == k0 && txid1[slot] == k1 && txid2[slot] == k2 && txid3[slot] == k3) {
+                return slot;
+            }
+        }
+    }
+
+    private void index(int slot) {
+        var mask = table.length - 1;
+        var bucket = bucket(txid0[slot], mask);
+        while (table[bucket] != NIL) {
+            bucket = (bucket + 1) & mask;
+        }
+        table[bucket] = slot;
+    }
+
+    private void unindex(int slot) {
+        var mask = table.length - 1;
+        var hole = bucket(txid0[slot], mask);
+        while (table[hole] != slot) {
+            hole = (hole + 1) & mask;
+        }
+        // backward shift: pull later members of the probe run into the hole instead of leaving tombstones
+        for (int bucket = (hole + 1) & mask; table[bucket] != NIL; bucket = (bucket + 1) & mask) {
+            var home = bucket(txid0[table[bucket]], mask);
+            if (((bucket - home) & mask) >= ((bucket - hole) & mask)) {
+                table[hole] = table[bucket];
+                hole = bucket;
+            }
+        }
+        table[hole] = NIL;
+    }
+
+    private static int bucket(long txidPrefix, int mask) {
+        // txids are hashes already, folding the prefix is enough
+        return (int) (txidPrefix ^ (txidPrefix >>> 32)) & mask;
+    }
+
+    // --- fee order: treap keyed by (fee rate descending, slot), augmented with subtree vsize ---
+
+    private boolean before(int a, int b) {
+        return feeRates[a] != feeRates[b] ? feeRates[a] > feeRates[b] : a < b;
+    }
+
+    private int insert(int node, int slot) {
+        if (node == NIL) {
+            return slot;
+        }
+        if (before(slot, node)) {
+            left[node] = insert(left[node], slot);
+            if (priorities[left[node]] > priorities[node]) {
+                return rotateRight(node);
+            }
+        } else {
+            right[node] = insert(right[node], slot);
+            if (priorities[right[node]] > priorities[node]) {
+                return rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private int delete(int node, int slot) {
+        if (node == NIL) {
+            throw new IllegalStateException("Mirror entry not in fee order: " + slot);
+        }
+        if (node == slot) {
+            return merge(left[node], right[node]);
+        }
+        if (before(slot, node)) {
+            left[node] = delete(left[node], slot);
+        } else {
+            right[node] = delete(right[node], slot);
+        }
+        update(node);
+        return node;
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int rotateRight(int node) {
+        var pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        var pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(int node) {
+        subtreeVsizes[node] = subtreeVsizes[left[node]] + vsizes[node] + subtreeVsizes[right[node]];
+    }
+
+    private int nextPriority() {
+        // xorshift, good enough to keep the treap balanced
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    // --- storage ---
+
+    private void allocate(int capacity) {
+        // slot 0 is the NIL sentinel
+        txid0 = new long[capacity];
+        txid1 = new long[capacity];
+        txid2 = new long[capacity];
+        txid3 = new long[capacity];
+        feeRates = new long[capacity];
+        vsizes = new int[capacity];
+        subtreeVsizes = new long[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        priorities = new int[capacity];
+        // at most half full, keeps probe runs short
+        table = new int[capacity * 2];
+    }
+
+    private void grow() {
+        var capacity = feeRates.length * 2;
+        txid0 = Arrays.copyOf(txid0, capacity);
+        txid1 = Arrays.copyOf(txid1, capacity);
+        txid2 = Arrays.copyOf(txid2, capacity);
+        txid3 = Arrays.copyOf(txid3, capacity);
+        feeRates = Arrays.copyOf(feeRates, capacity);
+        vsizes = Arrays.copyOf(vsizes, capacity);
+        subtreeVsizes = Arrays.copyOf(subtreeVsizes, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        table = new int[capacity * 2];
+        for (int slot = 1; slot < nextUnused; slot++) {
+            index(slot);
+        }
+        log.info("Mempool mirror grown to {} entries", capacity - 1);
+    }
+}
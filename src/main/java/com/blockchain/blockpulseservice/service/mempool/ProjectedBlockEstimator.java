@@ -0,0 +1,118 @@
+package com.blockchain.blockpulseservice.service.mempool;
+
+import com.blockchain.blockpulseservice.model.FeeProjection;
+import com.blockchain.blockpulseservice.model.FeeRate;
+import com.blockchain.blockpulseservice.model.MempoolStats;
+import com.blockchain.blockpulseservice.model.ProjectedBlock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projects the next blocks from the {@link MempoolMirror}, the way a miner would fill them: highest fee rates
+ * first until the block weight is used up. The mirror keeps its fee order and subtree vsizes up to date with
+ * every delta, so a projection is a handful of O(log n) depth lookups per block instead of a sort of the
+ * mempool, and is recomputed after every decoded frame.
+ * <p>
+ * Transactions are treated as independent; ancestor packages (CPFP) are not visible in the deltas.
+ */
+@Component
+public class ProjectedBlockEstimator {
+    private static final int WEIGHT_UNITS_PER_VBYTE = 4;
+    // fastest, half hour and hour as in mempool.space recommendations: next block, 3 blocks and 6 blocks
+    private static final int FAST_BLOCK = 0;
+    private static final int MEDIUM_BLOCK = 2;
+    private static final int SLOW_BLOCK = 5;
+    private static final long MIN_RELAY_FEE_RATE = FeeRate.SCALE;
+
+    private final MempoolMirror mirror;
+    private final int blocks;
+    private final long blockVsize;
+    private final Duration warmUp;
+    private final Timer updateTimer;
+    private volatile FeeProjection projection = FeeProjection.EMPTY;
+
+    public ProjectedBlockEstimator(MempoolMirror mirror,
+                                   @Value("${app.mempool.projection.blocks:8}") int blocks,
+                                   @Value("${app.mempool.projection.block-weight:4000000}") long blockWeight,
+                                   @Value("${app.mempool.projection.warm-up-seconds:600}") long warmUpSeconds,
+                                   MeterRegistry meterRegistry) {
+        this.mirror = mirror;
+        this.blocks = Math.max(SLOW_BLOCK + 1, blocks);
+        this.blockVsize = blockWeight / WEIGHT_UNITS_PER_VBYTE;
+        this.warmUp = Duration.ofSeconds(warmUpSeconds);
+        this.updateTimer = Timer.builder("blockpulse.mempool.projection.update")
+                .description("Time to project the next blocks from the mempool mirror")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Recomputes the projection. Must run on the thread applying deltas to the mirror, after a frame.
+     */
+    public void update() {
+        var start = System.nanoTime();
+        var totalVsize = mirror.totalVsize();
+        var projected = new ArrayList<ProjectedBlock>(blocks);
+        for (int block = 0; block < blocks; block++) {
+            var top = block * blockVsize;
+            if (top >= totalVsize) {
+                break;
+            }
+            var vsize = Math.min(blockVsize, totalVsize - top);
+            projected.add(new ProjectedBlock(
+                    mirror.feeRateAtDepth(top + vsize - 1),
+                    mirror.feeRateAtDepth(top + vsize / 2),
+                    mirror.feeRateAtDepth(top),
+                    vsize));
+        }
+        projection = new FeeProjection(projected, totalVsize, Instant.now());
+        updateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public FeeProjection projection() {
+        return projection;
+    }
+
+    /**
+     * The mirror only knows transactions announced since it was last cleared, so it is trusted once it has
+     * been tracking for the warm-up period and fills at least the next block.
+     */
+    public boolean isWarm() {
+        var current = projection;
+        return mirror.trackedFor().compareTo(warmUp) >= 0
+                && !current.blocks().isEmpty()
+                && current.blocks().getFirst().vsize() >= blockVsize;
+    }
+
+    /**
+     * Replaces the polled recommended fees with projected ones once the mirror is warm.
+     */
+    public MempoolStats withProjectedFees(MempoolStats polled) {
+        if (!isWarm()) {
+            return polled;
+        }
+        var current = projection;
+        return new MempoolStats(
+                requiredFeeRate(current, FAST_BLOCK),
+                requiredFeeRate(current, MEDIUM_BLOCK),
+                requiredFeeRate(current, SLOW_BLOCK),
+                polled.mempoolSize());
+    }
+
+    private long requiredFeeRate(FeeProjection current, int block) {
+        // a block that is not full takes anything paying the relay minimum
+        if (block >= current.blocks().size() || current.blocks().get(block).vsize() < blockVsize) {
+            return MIN_RELAY_FEE_RATE;
+        }
+        return Math.max(MIN_RELAY_FEE_RATE, current.blocks().get(block).minFeeRate());
+    }
+}
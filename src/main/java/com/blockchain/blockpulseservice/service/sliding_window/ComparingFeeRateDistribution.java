@@ -0,0 +1,43 @@
+package com.blockchain.blockpulseservice.service.sliding_window;
+
+/**
+ * Feeds every observation to two engines, answers from the configured one and records how far the
+ * other one's answer is, so the histogram engine can be validated against the exact one on live data.
+ */
+public class ComparingFeeRateDistribution implements FeeRateDistribution {
+    private final FeeRateDistribution primary;
+    private final FeeRateDistribution reference;
+    private final PercentileAccuracyReport accuracyReport;
+
+    public ComparingFeeRateDistribution(FeeRateDistribution primary,
+                                        FeeRateDistribution reference,
+                                        PercentileAccuracyReport accuracyReport) {
+        this.primary = primary;
+        this.reference = reference;
+        this.accuracyReport = accuracyReport;
+    }
+
+    @Override
+    public void add(long feeRate) {
+        primary.add(feeRate);
+        reference.add(feeRate);
+    }
+
+    @Override
+    public void remove(long feeRate) {
+        primary.remove(feeRate);
+        reference.remove(feeRate);
+    }
+
+    @Override
+    public int size() {
+        return primary.size();
+    }
+
+    @Override
+    public long select(int rank) {
+        var answer = primary.select(rank);
+        accuracyReport.record(answer, reference.select(rank));
+        return answer;
+    }
+}
@@ -0,0 +1,21 @@
+package com.blockchain.blockpulseservice.service.sliding_window;
+
+/**
+ * Fee rates currently in the sliding window, queried by rank to answer percentiles.
+ */
+public interface FeeRateDistribution {
+    void add(long feeRate);
+
+    void remove(long feeRate);
+
+    int size();
+
+    /**
+     * @param rank zero-based position in ascending fee rate order
+     */
+    long select(int rank);
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.blockchain.blockpulseservice.service.sliding_window;
+
+/**
+ * Fixed-memory fee rate histogram with log-linear buckets.
+ * <p>
+ * Values below {@link #SUB_BUCKETS} are counted exactly. Above that, every power of two is split into
+ * {@link #SUB_BUCKETS} equal buckets and a query answers with the bucket midpoint, so the relative
+ * error is bounded by {@code 1 / (2 * SUB_BUCKETS)} (~0.4%). Add and remove are O(1); rank selection
+ * walks one count per power of two and then the buckets of a single power of two.
+ */
+public class FeeRateHistogram implements FeeRateDistribution {
+    private static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // 2^47 milli-sat/vB is far beyond any real fee rate; larger values land in the last bucket.
+    private static final int MAX_EXPONENT = 47;
+    private static final int GROUPS = MAX_EXPONENT - SUB_BUCKET_BITS + 2;
+    private static final long MAX_TRACKABLE_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final int[] bucketCounts = new int[GROUPS * SUB_BUCKETS];
+    private final int[] groupCounts = new int[GROUPS];
+    private int size;
+
+    @Override
+    public void add(long feeRate) {
+        var bucket = bucketIndex(feeRate);
+        bucketCounts[bucket]++;
+        groupCounts[bucket >>> SUB_BUCKET_BITS]++;
+        size++;
+    }
+
+    @Override
+    public void remove(long feeRate) {
+        var bucket = bucketIndex(feeRate);
+        if (bucketCounts[bucket] == 0) {
+            throw new IllegalStateException("Fee rate not present: " + feeRate);
+        }
+        bucketCounts[bucket]--;
+        groupCounts[bucket >>> SUB_BUCKET_BITS]--;
+        size--;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long select(int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " out of bounds for size " + size);
+        }
+        var group = 0;
+        while (rank >= groupCounts[group]) {
+            rank -= groupCounts[group];
+            group++;
+        }
+        var bucket = group << SUB_BUCKET_BITS;
+        while (rank >= bucketCounts[bucket]) {
+            rank -= bucketCounts[bucket];
+            bucket++;
+        }
+        return bucketMidpoint(bucket);
+    }
+
+    static int bucketIndex(long value) {
+        var clamped = Math.min(Math.max(value, 0), MAX_TRACKABLE_VALUE);
+        if (clamped < SUB_BUCKETS) {
+            return (int) clamped;
+        }
+        var shift = 63 - Long.numberOfLeadingZeros(clamped) - SUB_BUCKET_BITS;
+        var subBucket = (int) (clamped >>> shift) - SUB_BUCKETS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long bucketMidpoint(int bucket) {
+        var group = bucket >>> SUB_BUCKET_BITS;
+        if (group == 0) {
+            return bucket;
+        }
+        var shift = group - 1;
+        var lowerBound = ((long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1)))) << shift;
+        return lowerBound + ((1L << shift) >>> 1);
+    }
+}
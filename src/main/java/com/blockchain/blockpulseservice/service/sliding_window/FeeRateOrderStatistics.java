@@ -0,0 +1,184 @@
+package com.blockchain.blockpulseservice.service.sliding_window;
+
+/**
+ * Multiset of fee rates supporting insert, remove and rank selection in O(log n).
+ * <p>
+ * Implemented as a size-augmented treap whose nodes live in parallel primitive arrays, so there is
+ * no per-element object overhead. Equal fee rates share a node with a counter, which keeps the tree
+ * small when many transactions pay the same rate.
+ */
+public class FeeRateOrderStatistics implements FeeRateDistribution {
+    private static final int NIL = 0;
+    private final long[] keys;
+    private final int[] counts;
+    private final int[] sizes;
+    private final int[] left;
+    private final int[] right;
+    private final int[] priorities;
+    private int root = NIL;
+    private int freeList = NIL;
+    private int nextUnused = 1;
+    private int seed = 0x9E3779B9;
+
+    public FeeRateOrderStatistics(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        // slot 0 is the NIL sentinel
+        this.keys = new long[capacity + 1];
+        this.counts = new int[capacity + 1];
+        this.sizes = new int[capacity + 1];
+        this.left = new int[capacity + 1];
+        this.right = new int[capacity + 1];
+        this.priorities = new int[capacity + 1];
+    }
+
+    @Override
+    public void add(long feeRate) {
+        root = insert(root, feeRate);
+    }
+
+    @Override
+    public void remove(long feeRate) {
+        root = delete(root, feeRate);
+    }
+
+    @Override
+    public int size() {
+        return sizes[root];
+    }
+
+    @Override
+    public long select(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " out of bounds for size " + size());
+        }
+        var node = root;
+        while (true) {
+            var leftSize = sizes[left[node]];
+            if (rank < leftSize) {
+                node = left[node];
+            } else if (rank < leftSize + counts[node]) {
+                return keys[node];
+            } else {
+                rank -= leftSize + counts[node];
+                node = right[node];
+            }
+        }
+    }
+
+    private int insert(int node, long key) {
+        if (node == NIL) {
+            return allocate(key);
+        }
+        if (key == keys[node]) {
+            counts[node]++;
+            sizes[node]++;
+            return node;
+        }
+        if (key < keys[node]) {
+            left[node] = insert(left[node], key);
+            if (priorities[left[node]] > priorities[node]) {
+                return rotateRight(node);
+            }
+        } else {
+            right[node] = insert(right[node], key);
+            if (priorities[right[node]] > priorities[node]) {
+                return rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private int delete(int node, long key) {
+        if (node == NIL) {
+            throw new IllegalStateException("Fee rate not present: " + key);
+        }
+        if (key < keys[node]) {
+            left[node] = delete(left[node], key);
+        } else if (key > keys[node]) {
+            right[node] = delete(right[node], key);
+        } else if (counts[node] > 1) {
+            counts[node]--;
+            sizes[node]--;
+            return node;
+        } else {
+            var merged = merge(left[node], right[node]);
+            release(node);
+            return merged;
+        }
+        update(node);
+        return node;
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int rotateRight(int node) {
+        var pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        var pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(int node) {
+        sizes[node] = sizes[left[node]] + counts[node] + sizes[right[node]];
+    }
+
+    private int allocate(long key) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = left[node];
+        } else if (nextUnused < keys.length) {
+            node = nextUnused++;
+        } else {
+            throw new IllegalStateException("Order statistics capacity exceeded: " + (keys.length - 1));
+        }
+        keys[node] = key;
+        counts[node] = 1;
+        sizes[node] = 1;
+        left[node] = NIL;
+        right[node] = NIL;
+        priorities[node] = nextPriority();
+        return node;
+    }
+
+    private void release(int node) {
+        left[node] = freeList;
+        right[node] = NIL;
+        counts[node] = 0;
+        sizes[node] = 0;
+        freeList = node;
+    }
+
+    private int nextPriority() {
+        // xorshift, good enough to keep the treap balanced
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
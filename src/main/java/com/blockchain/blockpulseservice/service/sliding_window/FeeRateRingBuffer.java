@@ -0,0 +1,43 @@
+package com.blockchain.blockpulseservice.service.sliding_window;
+
+/**
+ * Fixed-capacity ring of fee rates in arrival order, used to know which entry leaves the window next.
+ */
+public class FeeRateRingBuffer {
+    private final long[] feeRates;
+    private int head;
+    private int size;
+
+    public FeeRateRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.feeRates = new long[capacity];
+    }
+
+    public void add(long feeRate) {
+        if (isFull()) {
+            throw new IllegalStateException("Ring buffer is full");
+        }
+        feeRates[(head + size) % feeRates.length] = feeRate;
+        size++;
+    }
+
+    public long removeOldest() {
+        if (size == 0) {
+            throw new IllegalStateException("Ring buffer is empty");
+        }
+        var oldest = feeRates[head];
+        head = (head + 1) % feeRates.length;
+        size--;
+        return oldest;
+    }
+
+    public boolean isFull() {
+        return size == feeRates.length;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,220 @@
+package com.blockchain.blockpulseservice.service.sliding_window;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pre-allocated, bounded, lock-free ring buffer between the websocket threads and the analyzer thread.
+ * <p>
+ * Slots carry a sequence number (Vyukov's bounded queue) so producers and consumers claim them with a
+ * single CAS and nothing is allocated per element. Consuming is safe from several threads, which lets
+ * producers evict the oldest element themselves under {@link OverloadPolicy#DROP_OLDEST} and
+ * {@link OverloadPolicy#SAMPLE}. The single analyzer thread parks when the buffer is empty and is
+ * unparked by the next publish.
+ */
+public class IngestRingBuffer<E> {
+    static final int MAX_CAPACITY = 1 << 30;
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long PRODUCER_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final OverloadPolicy overloadPolicy;
+    private final int sampleRate;
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile Thread waitingConsumer;
+
+    public IngestRingBuffer(int capacity, OverloadPolicy overloadPolicy, int sampleRate) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            // above 2^30 rounding up to a power of two overflows
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ": " + capacity);
+        }
+        var size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.overloadPolicy = overloadPolicy;
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    /**
+     * Enqueues the element applying the configured {@link OverloadPolicy} if the buffer is full.
+     *
+     * @return whether the element was enqueued
+     */
+    public boolean publish(E element) throws InterruptedException {
+        if (offer(element)) {
+            return true;
+        }
+        return switch (overloadPolicy) {
+            case BLOCK -> {
+                while (!offer(element)) {
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                    LockSupport.parkNanos(this, PRODUCER_BACKOFF_NANOS);
+                }
+                yield true;
+            }
+            case DROP_OLDEST -> replaceOldest(element);
+            case DROP_NEWEST -> reject();
+            case SAMPLE -> overflowCount.getAndIncrement() % sampleRate == 0 ? replaceOldest(element) : reject();
+        };
+    }
+
+    public E take() throws InterruptedException {
+        var spins = 0;
+        while (true) {
+            var element = poll();
+            if (element != null) {
+                return element;
+            }
+            if (spins++ < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+                continue;
+            }
+            awaitElement(MAX_PARK_NANOS);
+        }
+    }
+
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        var deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            var element = poll();
+            if (element != null) {
+                return element;
+            }
+            var remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            awaitElement(Math.min(remaining, MAX_PARK_NANOS));
+        }
+    }
+
+    public int drainTo(Collection<? super E> target, int maxElements) {
+        var drained = 0;
+        while (drained < maxElements) {
+            var element = poll();
+            if (element == null) {
+                break;
+            }
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    public E poll() {
+        var position = head.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            var difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+        var element = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, position + mask + 1);
+        return element;
+    }
+
+    public int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head.get(), capacity()));
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public long enqueuedCount() {
+        return enqueued.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public OverloadPolicy overloadPolicy() {
+        return overloadPolicy;
+    }
+
+    private boolean offer(E element) {
+        var position = tail.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            var difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        slots.set(index, element);
+        sequences.set(index, position + 1);
+        enqueued.increment();
+        var consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    private boolean replaceOldest(E element) {
+        while (!offer(element)) {
+            if (poll() != null) {
+                dropped.increment();
+            }
+        }
+        return true;
+    }
+
+    private boolean reject() {
+        dropped.increment();
+        return false;
+    }
+
+    private void awaitElement(long nanos) throws InterruptedException {
+        waitingConsumer = Thread.currentThread();
+        try {
+            // re-check after announcing ourselves so a publish in between is not missed
+            if (size() == 0) {
+                LockSupport.parkNanos(this, nanos);
+            }
+        } finally {
+            waitingConsumer = null;
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.blockchain.blockpulseservice.service.sliding_window;
+
+/**
+ * What the ingest buffer does with a new transaction when the analyzer has fallen behind and it is full.
+ */
+public enum OverloadPolicy {
+    /** Park the producing (websocket) thread until the analyzer frees a slot. */
+    BLOCK,
+    /** Evict the oldest queued transaction to make room for the new one. */
+    DROP_OLDEST,
+    /** Reject the new transaction. */
+    DROP_NEWEST,
+    /** Admit one of every {@code sample-rate} transactions by evicting the oldest one, reject the others. */
+    SAMPLE
+}
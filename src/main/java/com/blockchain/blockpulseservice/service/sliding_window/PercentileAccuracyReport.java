@@ -0,0 +1,36 @@
+package com.blockchain.blockpulseservice.service.sliding_window;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class PercentileAccuracyReport {
+    private long queries;
+    private double relativeErrorSum;
+    private double maxRelativeError;
+
+    public synchronized void record(long answer, long referenceAnswer) {
+        var error = referenceAnswer == 0
+                ? (answer == 0 ? 0.0 : 1.0)
+                : Math.abs(answer - referenceAnswer) / (double) referenceAnswer;
+        queries++;
+        relativeErrorSum += error;
+        maxRelativeError = Math.max(maxRelativeError, error);
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public synchronized void report() {
+        if (queries == 0) {
+            return;
+        }
+        log.info("Percentile accuracy over {} queries: mean relative error {}%, max relative error {}%",
+                queries,
+                String.format("%.4f", 100 * relativeErrorSum / queries),
+                String.format("%.4f", 100 * maxRelativeError));
+        queries = 0;
+        relativeErrorSum = 0;
+        maxRelativeError = 0;
+    }
+}
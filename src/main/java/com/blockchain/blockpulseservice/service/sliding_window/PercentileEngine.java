@@ -0,0 +1,20 @@
+package com.blockchain.blockpulseservice.service.sliding_window;
+
+public enum PercentileEngine {
+    /** Exact ranks from an order-statistic tree, memory grows with the window size. */
+    EXACT {
+        @Override
+        public FeeRateDistribution create(int slidingWindowSize) {
+            return new FeeRateOrderStatistics(slidingWindowSize);
+        }
+    },
+    /** Approximate ranks from log-linear buckets, fixed memory regardless of the window size. */
+    HISTOGRAM {
+        @Override
+        public FeeRateDistribution create(int slidingWindowSize) {
+            return new FeeRateHistogram();
+        }
+    };
+
+    public abstract FeeRateDistribution create(int slidingWindowSize);
+}
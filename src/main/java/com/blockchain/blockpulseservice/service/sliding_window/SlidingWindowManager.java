@@ -2,38 +2,86 @@ package com.blockchain.blockpulseservice.service.sliding_window;
 
 import com.blockchain.blockpulseservice.model.Transaction;
 import com.blockchain.blockpulseservice.service.TransactionAnalyzerService;
+import com.blockchain.blockpulseservice.tracing.SnapshotTakenEvent;
+import com.blockchain.blockpulseservice.tracing.TransactionEnqueuedEvent;
+import com.blockchain.blockpulseservice.tracing.TransactionTracing;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.list.TreeList;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import static java.math.BigDecimal.ZERO;
-
 @Slf4j
 @Component
 public class SlidingWindowManager {
-    private final TreeList<Transaction> sortedTransactions = new TreeList<>();
-    private final BlockingQueue<Transaction> transactionQueue = new LinkedBlockingQueue<>();
+    private final FeeRateRingBuffer arrivalOrder;
+    private final FeeRateDistribution feeRates;
+    private final IngestRingBuffer<Transaction> transactionQueue;
+    private final TxidDedupIndex seenTxids;
     private final int slidingWindowSize;
+    private final int maxBatchSize;
+    private final long maxBatchLatencyNanos;
     private final TransactionAnalyzerService analyzerService;
     private final TransactionWindowSnapshotService transactionWindowSnapshotService;
     private final ThreadFactory analyzerThreadFactory;
+    private final Timer snapshotTimer;
     private Thread analyzerThread;
     private final AtomicBoolean running = new AtomicBoolean(true);
 
     public SlidingWindowManager(@Value("${app.analysis.tx.sliding-window-size:1000}") int slidingWindowSize,
+                                @Value("${app.analysis.tx.batch.max-size:512}") int maxBatchSize,
+                                @Value("${app.analysis.tx.batch.max-latency-ms:0}") long maxBatchLatencyMs,
+                                @Value("${app.analysis.tx.ingest.capacity:65536}") int ingestCapacity,
+                                @Value("${app.analysis.tx.ingest.overload-policy:block}") OverloadPolicy overloadPolicy,
+                                @Value("${app.analysis.tx.ingest.sample-rate:10}") int sampleRate,
+                                @Value("${app.analysis.tx.ingest.dedup-generation-size:262144}") int dedupGenerationSize,
+                                MeterRegistry meterRegistry,
                                 TransactionAnalyzerService analyzerService,
                                 ThreadFactory analyzerThreadFactory,
-                                TransactionWindowSnapshotService transactionWindowSnapshotService) {
+                                TransactionWindowSnapshotService transactionWindowSnapshotService,
+                                FeeRateDistribution windowFeeRates) {
         this.slidingWindowSize = slidingWindowSize;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxBatchLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxBatchLatencyMs);
+        this.transactionQueue = new IngestRingBuffer<>(ingestCapacity, overloadPolicy, sampleRate);
+        FunctionCounter.builder("blockpulse.ingest.dropped", transactionQueue, IngestRingBuffer::droppedCount)
+                .description("Transactions dropped by the ingest buffer overload policy")
+                .tag("policy", overloadPolicy.name().toLowerCase())
+                .register(meterRegistry);
+        FunctionCounter.builder("blockpulse.ingest.enqueued", transactionQueue, IngestRingBuffer::enqueuedCount)
+                .description("Transactions admitted to the ingest buffer")
+                .register(meterRegistry);
+        this.seenTxids = new TxidDedupIndex(dedupGenerationSize);
+        // hit rate = hits / (hits + misses)
+        FunctionCounter.builder("blockpulse.ingest.dedup.hits", seenTxids, TxidDedupIndex::hitCount)
+                .description("Transactions dropped because their txid was already seen, e.g. replayed after a reconnection;"
+                        + " with a hot standby every transaction is received twice and one copy counts here")
+                .register(meterRegistry);
+        FunctionCounter.builder("blockpulse.ingest.dedup.misses", seenTxids, TxidDedupIndex::missCount)
+                .description("Transactions whose txid was not seen before")
+                .register(meterRegistry);
+        Gauge.builder("blockpulse.ingest.queue.depth", transactionQueue, IngestRingBuffer::size)
+                .description("Transactions waiting in the ingest buffer")
+                .register(meterRegistry);
+        this.snapshotTimer = Timer.builder("blockpulse.window.snapshot")
+                .description("Time to compute the window snapshot of one batch")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(meterRegistry);
+        this.arrivalOrder = new FeeRateRingBuffer(slidingWindowSize);
+        this.feeRates = windowFeeRates;
         this.analyzerService = analyzerService;
         this.analyzerThreadFactory = analyzerThreadFactory;
         this.transactionWindowSnapshotService = transactionWindowSnapshotService;
@@ -43,17 +91,27 @@ public class SlidingWindowManager {
     private void startAnalyzerThread() {
         analyzerThread = analyzerThreadFactory.newThread(() -> {
             log.info("Started analyzer thread {}", analyzerThread.getName());
+            var batch = new ArrayList<Transaction>(maxBatchSize);
             while (running.get() && !Thread.currentThread().isInterrupted()) {
                 try {
-                    var tx = transactionQueue.take();
-
-                    resizeSortedTransactionsPerFeeRate();
+                    batch.clear();
+                    batch.add(transactionQueue.take());
+                    fillBatch(batch);
 
-                    sortedTransactions.add(tx);
-                    transactionWindowSnapshotService.addFee(tx.feePerVSize());
+                    batch.forEach(this::addToWindow);
 
-                    var snapshot = transactionWindowSnapshotService.takeCurrentWindowSnapshot(sortedTransactions);
-                    analyzerService.processTransaction(tx, snapshot);
+                    // One snapshot per drained batch: under bursts the percentile cost is amortized over the batch.
+                    var snapshotEvent = new SnapshotTakenEvent();
+                    snapshotEvent.begin();
+                    var snapshotStart = System.nanoTime();
+                    var snapshot = transactionWindowSnapshotService.takeCurrentWindowSnapshot(feeRates);
+                    snapshotTimer.record(System.nanoTime() - snapshotStart, TimeUnit.NANOSECONDS);
+                    if (snapshotEvent.shouldCommit()) {
+                        snapshotEvent.batchSize = batch.size();
+                        snapshotEvent.windowTransactions = snapshot.transactionsCount();
+                        snapshotEvent.commit();
+                    }
+                    analyzerService.processTransactions(batch, snapshot);
                 } catch (InterruptedException e) {
                     log.warn("Thread interrupted while waiting for transaction", e);
                     running.set(false);
@@ -79,26 +137,87 @@ public class SlidingWindowManager {
         }
     }
 
-    public void addTransaction(List<Transaction> transactions) {
-        transactions.stream()
-                .filter(this::isValidTransaction)
-                .forEach(tx -> {
-                    if (transactionQueue.offer(tx)) {
-                        log.debug("Queued transaction for analysis: {}", tx.hash());
-                    }
-                });
+    /**
+     * @throws InterruptedException if interrupted while waiting for room under the block policy; the caller
+     *                              should stop handing over the rest of its frame
+     */
+    public void addTransaction(Transaction tx) throws InterruptedException {
+        if (!isValidTransaction(tx)) {
+            return;
+        }
+        if (!markSeen(tx)) {
+            log.debug("Dropped already seen transaction: {}", tx.hash());
+            return;
+        }
+        var accepted = TransactionTracing.isSampled(tx.hash()) ? tracedPublish(tx) : transactionQueue.publish(tx);
+        if (accepted) {
+            log.debug("Queued transaction for analysis: {}", tx.hash());
+        }
+    }
+
+    /**
+     * Forgets the txids seen so far, so a capture replayed again is analyzed again.
+     */
+    public void forgetSeenTxids() {
+        synchronized (seenTxids) {
+            seenTxids.clear();
+        }
+    }
+
+    // every upstream session adds from its own thread; only the lookup is locked, not the wait for room
+    private boolean markSeen(Transaction tx) {
+        synchronized (seenTxids) {
+            return seenTxids.add(tx.hash());
+        }
+    }
+
+    private boolean tracedPublish(Transaction tx) throws InterruptedException {
+        var event = new TransactionEnqueuedEvent();
+        event.begin();
+        var accepted = transactionQueue.publish(tx);
+        if (event.shouldCommit()) {
+            event.txid = tx.hash().toHex();
+            event.accepted = accepted;
+            event.queueDepth = transactionQueue.size();
+            event.commit();
+        }
+        return accepted;
+    }
+
+    private void fillBatch(List<Transaction> batch) throws InterruptedException {
+        transactionQueue.drainTo(batch, maxBatchSize - batch.size());
+        if (maxBatchLatencyNanos <= 0) {
+            return;
+        }
+        var deadline = System.nanoTime() + maxBatchLatencyNanos;
+        while (batch.size() < maxBatchSize) {
+            var tx = transactionQueue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (tx == null) {
+                return;
+            }
+            batch.add(tx);
+            transactionQueue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void addToWindow(Transaction tx) {
+        evictOldestTransaction();
+        arrivalOrder.add(tx.feePerVSize());
+        feeRates.add(tx.feePerVSize());
+        transactionWindowSnapshotService.addFee(tx.feePerVSize());
     }
 
-    private void resizeSortedTransactionsPerFeeRate() {
-        if (sortedTransactions.size() >= slidingWindowSize) {
-            var oldestTx = sortedTransactions.removeFirst();
-            transactionWindowSnapshotService.subtractFee(oldestTx.feePerVSize());
-            log.debug("Sliding window is full, removing oldest transaction: {}", oldestTx.hash());
+    private void evictOldestTransaction() {
+        if (arrivalOrder.isFull()) {
+            var oldestFeeRate = arrivalOrder.removeOldest();
+            feeRates.remove(oldestFeeRate);
+            transactionWindowSnapshotService.subtractFee(oldestFeeRate);
+            log.debug("Sliding window of {} is full, evicted oldest transaction with fee rate {}", slidingWindowSize, oldestFeeRate);
         }
     }
 
     private boolean isValidTransaction(Transaction tx) {
-        if (tx.feePerVSize().compareTo(ZERO) < 0) {
+        if (tx.feePerVSize() < 0) {
             log.warn("Invalid fee rate: {}", tx.feePerVSize());
             return false;
         }
@@ -1,15 +1,10 @@
 package com.blockchain.blockpulseservice.service.sliding_window;
 
-import com.blockchain.blockpulseservice.model.Transaction;
 import com.blockchain.blockpulseservice.model.TransactionWindowSnapshot;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.List;
-
 @Slf4j
 @Service
 public class TransactionWindowSnapshotService {
@@ -17,7 +12,7 @@ public class TransactionWindowSnapshotService {
     private final double outliersPercentileThreshold;
     private static final double FIRST_QUARTILE_THRESHOLD = 0.25;
     private static final double THIRD_QUARTILE_THRESHOLD = 0.75;
-    private BigDecimal sum = BigDecimal.ZERO;
+    private long sum = 0;
 
     public TransactionWindowSnapshotService(TransactionsPercentile percentile,
                                             @Value("${app.analysis.tx.outliers-percentile-threshold:0.99}")
@@ -26,31 +21,31 @@ public class TransactionWindowSnapshotService {
         this.outliersPercentileThreshold = outliersPercentileThreshold;
     }
 
-    public void addFee(BigDecimal feePerVSize) {
-        this.sum = sum.add(feePerVSize);
+    public void addFee(long feePerVSize) {
+        this.sum += feePerVSize;
     }
 
-    public void subtractFee(BigDecimal feePerVSize) {
-        this.sum = sum.subtract(feePerVSize);
+    public void subtractFee(long feePerVSize) {
+        this.sum -= feePerVSize;
     }
 
-    public TransactionWindowSnapshot takeCurrentWindowSnapshot(List<Transaction> sortedTransactions) {
+    public TransactionWindowSnapshot takeCurrentWindowSnapshot(FeeRateDistribution feeRates) {
         log.debug("Taking current window snapshot...");
-        if (sortedTransactions.isEmpty()) {
+        if (feeRates.isEmpty()) {
             log.debug("No transactions in window, returning empty snapshot");
             return TransactionWindowSnapshot.empty();
         }
 
-        int totalTransactions = sortedTransactions.size();
-        var avgFeePerVByte = sum.divide(BigDecimal.valueOf(totalTransactions), 2, RoundingMode.HALF_UP);
+        int totalTransactions = feeRates.size();
+        var avgFeePerVByte = (sum + totalTransactions / 2) / totalTransactions;
         return new TransactionWindowSnapshot(
                 totalTransactions,
                 avgFeePerVByte,
-                percentile.getMedianFeeRate(sortedTransactions),
+                percentile.getMedianFeeRate(feeRates),
                 percentile.getNumOfOutliers(outliersPercentileThreshold, totalTransactions),
-                percentile.getPercentileFeeRate(outliersPercentileThreshold, sortedTransactions),
-                percentile.getPercentileFeeRate(FIRST_QUARTILE_THRESHOLD, sortedTransactions),
-                percentile.getPercentileFeeRate(THIRD_QUARTILE_THRESHOLD, sortedTransactions)
+                percentile.getPercentileFeeRate(outliersPercentileThreshold, feeRates),
+                percentile.getPercentileFeeRate(FIRST_QUARTILE_THRESHOLD, feeRates),
+                percentile.getPercentileFeeRate(THIRD_QUARTILE_THRESHOLD, feeRates)
         );
     }
 }
\ No newline at end of file
@@ -1,38 +1,33 @@
 package com.blockchain.blockpulseservice.service.sliding_window;
 
-import com.blockchain.blockpulseservice.model.Transaction;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.List;
-
 @Component
 public class TransactionsPercentile {
-    public BigDecimal getPercentileFeeRate(double percentile, List<Transaction> transactions) {
-        int index = getPercentileIndex(percentile, transactions.size());
-        return transactions.get(Math.max(0,index)).feePerVSize();
+    public long getPercentileFeeRate(double percentile, FeeRateDistribution feeRates) {
+        int index = getPercentileIndex(percentile, feeRates.size());
+        return feeRates.select(Math.max(0, index));
     }
 
     public int getNumOfOutliers(double outliersPercentileThreshold, int totalTransactions) {
         return getPercentileIndex(outliersPercentileThreshold, totalTransactions);
     }
 
-    public BigDecimal getMedianFeeRate(List<Transaction> transactions) {
-        int size = transactions.size();
+    public long getMedianFeeRate(FeeRateDistribution feeRates) {
+        int size = feeRates.size();
         int mid = size / 2;
 
         if (size % 2 == 0) {
             // Even number of elements → average of two middle ones
-            BigDecimal lowerMid = transactions.get(mid - 1).feePerVSize();
-            BigDecimal upperMid = transactions.get(mid).feePerVSize();
-            return lowerMid.add(upperMid).divide(BigDecimal.valueOf(2), RoundingMode.HALF_UP);
+            long lowerMid = feeRates.select(mid - 1);
+            long upperMid = feeRates.select(mid);
+            return (lowerMid + upperMid + 1) / 2;
         } else {
-            return transactions.get(mid).feePerVSize();
+            return feeRates.select(mid);
         }
     }
 
     private int getPercentileIndex(double percentile, int totalTransactions) {
         return (int) Math.ceil(percentile * totalTransactions) - 1;
     }
-}
\ No newline at end of file
+}
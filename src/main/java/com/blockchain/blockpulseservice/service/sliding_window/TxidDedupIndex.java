@@ -0,0 +1,115 @@
+package com.blockchain.blockpulseservice.service.sliding_window;
+
+import com.blockchain.blockpulseservice.model.TxId;
+
+import java.util.Arrays;
+
+/**
+ * Remembers recently seen txids so transactions replayed by the upstream, e.g. after a reconnection resends
+ * {@code track-mempool}, are analyzed only once.
+ * <p>
+ * Txids are reduced to 64-bit fingerprints (their first word, which is uniformly distributed hash output) and
+ * kept in two open-addressing {@code long} tables: new fingerprints go into the current generation, and once it
+ * holds {@code generationSize} of them the older generation is wiped and becomes the current one. Memory is
+ * fixed and the horizon covers between one and two generations of distinct txids. Lookups and inserts are O(1)
+ * and allocate nothing. Not thread-safe: {@code SlidingWindowManager} locks it.
+ */
+public class TxidDedupIndex {
+    static final int MAX_GENERATION_SIZE = 1 << 29;
+    private static final long EMPTY = 0;
+
+    private final int generationSize;
+    private final int mask;
+    private long[] current;
+    private long[] previous;
+    private int currentCount;
+    // written under the owner's lock, volatile so the meters see current values
+    private volatile long hits;
+    private volatile long misses;
+
+    public TxidDedupIndex(int generationSize) {
+        if (generationSize <= 0 || generationSize > MAX_GENERATION_SIZE) {
+            // the tables are twice as large, rounded up to a power of two
+            throw new IllegalArgumentException("Generation size must be between 1 and " + MAX_GENERATION_SIZE
+                    + ": " + generationSize);
+        }
+        this.generationSize = generationSize;
+        // at most half full, keeps probe runs short
+        var tableSize = Integer.highestOneBit(Math.max(1, generationSize * 2 - 1)) << 1;
+        this.mask = tableSize - 1;
+        this.current = new long[tableSize];
+        this.previous = new long[tableSize];
+    }
+
+    /**
+     * Records the txid.
+     *
+     * @return false if it was already seen within the horizon
+     */
+    public boolean add(TxId txid) {
+        var fingerprint = fingerprint(txid);
+        if (contains(current, fingerprint) || contains(previous, fingerprint)) {
+            hits++;
+            return false;
+        }
+        misses++;
+        if (currentCount == generationSize) {
+            rotate();
+        }
+        insert(current, fingerprint);
+        currentCount++;
+        return true;
+    }
+
+    /**
+     * Forgets every txid, e.g. before replaying a capture again.
+     */
+    public void clear() {
+        Arrays.fill(current, EMPTY);
+        Arrays.fill(previous, EMPTY);
+        currentCount = 0;
+    }
+
+    public long hitCount() {
+        return hits;
+    }
+
+    public long missCount() {
+        return misses;
+    }
+
+    private boolean contains(long[] table, long fingerprint) {
+        for (int bucket = bucket(fingerprint); ; bucket = (bucket + 1) & mask) {
+            if (table[bucket] == fingerprint) {
+                return true;
+            }
+            if (table[bucket] == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    private void insert(long[] table, long fingerprint) {
+        var bucket = bucket(fingerprint);
+        while (table[bucket] != EMPTY) {
+            bucket = (bucket + 1) & mask;
+        }
+        table[bucket] = fingerprint;
+    }
+
+    private void rotate() {
+        var wiped = previous;
+        Arrays.fill(wiped, EMPTY);
+        previous = current;
+        current = wiped;
+        currentCount = 0;
+    }
+
+    private int bucket(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+    }
+
+    private static long fingerprint(TxId txid) {
+        return txid.w0() == EMPTY ? 1 : txid.w0();
+    }
+}
@@ -0,0 +1,94 @@
+package com.blockchain.blockpulseservice.standin;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Local stand-in for the parts of mempool.space the service uses: the {@code track-mempool} and {@code stats}
+ * websocket subscriptions on {@code /api/v1/ws}, {@code /api/v1/fees/recommended} and {@code /api/mempool},
+ * all backed by a {@link SyntheticMempool}. Not part of the Spring application; start it with
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=com.blockchain.blockpulseservice.standin.MempoolStandInServer \
+ *     -Dexec.args="--rate=100000 --frames-per-second=4 --scenario=surge"
+ * </pre>
+ * and the service with the {@code standin} profile. Every connected client receives the same frames; a client
+ * that cannot keep up misses frames rather than slowing the generator down.
+ */
+@Slf4j
+public final class MempoolStandInServer {
+    private MempoolStandInServer() {}
+
+    public static void main(String[] args) {
+        var settings = StandInSettings.parse(args);
+        var mempool = new SyntheticMempool(settings, System.currentTimeMillis());
+        Sinks.Many<String> frames = Sinks.many().multicast().directBestEffort();
+        Sinks.Many<String> stats = Sinks.many().multicast().directBestEffort();
+
+        var generator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "standin-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var periodMicros = TimeUnit.SECONDS.toMicros(1) / Math.max(1, settings.framesPerSecond());
+        generator.scheduleAtFixedRate(() -> {
+            try {
+                frames.tryEmitNext(mempool.nextFrame(System.currentTimeMillis()));
+            } catch (RuntimeException e) {
+                log.error("Failed to generate frame", e);
+            }
+        }, 0, periodMicros, TimeUnit.MICROSECONDS);
+        // on the generator thread, so a stats frame never interleaves with a half generated mempool frame
+        generator.scheduleAtFixedRate(() -> stats.tryEmitNext(mempool.statsFrame()), 1, 1, TimeUnit.SECONDS);
+
+        var server = HttpServer.create()
+                .port(settings.port())
+                .route(routes -> routes
+                        .ws("/api/v1/ws", (inbound, outbound) -> outbound.sendString(inbound.receive()
+                                .asString()
+                                .flatMapIterable(MempoolStandInServer::requestedChannels)
+                                // resubscribing does not duplicate a stream, the inbound side stays open
+                                .distinct()
+                                .flatMap(channel -> switch (channel) {
+                                    case TRACK_MEMPOOL -> frames.asFlux();
+                                    // like mempool.space, the current stats right away and then every update
+                                    case STATS -> Flux.concat(Mono.fromSupplier(mempool::statsFrame), stats.asFlux());
+                                })))
+                        .get("/api/v1/fees/recommended", (request, response) -> json(response, mempool::recommendedFeesJson))
+                        .get("/api/mempool", (request, response) -> json(response, mempool::mempoolInfoJson)))
+                .bindNow();
+        log.info("mempool.space stand-in listening on port {}: {}", server.port(), settings);
+        server.onDispose().block();
+    }
+
+    private enum Channel { TRACK_MEMPOOL, STATS }
+
+    private static List<Channel> requestedChannels(String message) {
+        var compact = message.replace(" ", "");
+        var channels = new ArrayList<Channel>(2);
+        if (compact.contains("\"track-mempool\":true")) {
+            channels.add(Channel.TRACK_MEMPOOL);
+        }
+        if (compact.contains("\"action\":\"want\"") && compact.contains("\"stats\"")) {
+            channels.add(Channel.STATS);
+        }
+        return channels;
+    }
+
+    private static Mono<Void> json(HttpServerResponse response, Supplier<String> body) {
+        return response.header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                .sendString(Mono.fromSupplier(body))
+                .then();
+    }
+}
@@ -0,0 +1,10 @@
+package com.blockchain.blockpulseservice.standin;
+
+public enum Scenario {
+    /** Constant arrival rate and fee distribution. */
+    STEADY,
+    /** Periodic bursts with a multiplied arrival rate and shifted-up fees. */
+    SURGE,
+    /** A group of bidders repeatedly replacing each other's transactions with higher fees. */
+    FEE_WAR
+}
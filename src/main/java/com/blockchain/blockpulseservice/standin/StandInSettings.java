@@ -0,0 +1,80 @@
+package com.blockchain.blockpulseservice.standin;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stand-in configuration from {@code --name=value} arguments; unknown names are rejected so typos in load
+ * test scripts fail fast.
+ *
+ * @param rate               synthetic transactions per second
+ * @param framesPerSecond    websocket frames per second, the frame size being {@code rate / framesPerSecond}
+ * @param medianFeeRate      median of the log-normal fee rate distribution, sat/vB
+ * @param feeRateSigma       sigma of the log-normal fee rate distribution
+ * @param blockIntervalSec   seconds between synthetic blocks mining the best 1M vB of the mempool
+ * @param maxMempoolSize     transactions kept before the cheapest ones are evicted as {@code removed}
+ * @param replaceRatio       share of arrivals that replace an existing transaction (RBF)
+ * @param surgeEverySec      seconds between the starts of two surges in the {@link Scenario#SURGE} scenario
+ * @param surgeDurationSec   length of one surge
+ * @param surgeMultiplier    arrival rate and fee multiplier during a surge
+ * @param feeWarBidders      transactions competing in the {@link Scenario#FEE_WAR} scenario
+ */
+public record StandInSettings(int port,
+                              double rate,
+                              int framesPerSecond,
+                              double medianFeeRate,
+                              double feeRateSigma,
+                              int blockIntervalSec,
+                              int maxMempoolSize,
+                              double replaceRatio,
+                              Scenario scenario,
+                              int surgeEverySec,
+                              int surgeDurationSec,
+                              double surgeMultiplier,
+                              int feeWarBidders,
+                              long seed) {
+    private static final Set<String> KNOWN = Set.of("port", "rate", "frames-per-second",
+            "median-fee-rate", "fee-rate-sigma", "block-interval-sec", "max-mempool-size", "replace-ratio", "scenario",
+            "surge-every-sec", "surge-duration-sec", "surge-multiplier", "fee-war-bidders", "seed");
+
+    public static StandInSettings parse(String[] args) {
+        var values = new HashMap<String, String>();
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            var separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        var settings = new StandInSettings(
+                intValue(values, "port", 8999),
+                doubleValue(values, "rate", 100),
+                intValue(values, "frames-per-second", 2),
+                doubleValue(values, "median-fee-rate", 4),
+                doubleValue(values, "fee-rate-sigma", 1.2),
+                intValue(values, "block-interval-sec", 600),
+                intValue(values, "max-mempool-size", 300_000),
+                doubleValue(values, "replace-ratio", 0.01),
+                Scenario.valueOf(values.getOrDefault("scenario", "steady").toUpperCase(Locale.ROOT).replace('-', '_')),
+                intValue(values, "surge-every-sec", 60),
+                intValue(values, "surge-duration-sec", 15),
+                doubleValue(values, "surge-multiplier", 5),
+                intValue(values, "fee-war-bidders", 50),
+                (long) doubleValue(values, "seed", 42));
+        values.keySet().removeAll(KNOWN);
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown settings " + values.keySet());
+        }
+        return settings;
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+
+    private static double doubleValue(Map<String, String> values, String name, double defaultValue) {
+        return values.containsKey(name) ? Double.parseDouble(values.get(name)) : defaultValue;
+    }
+}
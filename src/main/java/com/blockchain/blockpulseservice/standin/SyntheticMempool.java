@@ -0,0 +1,311 @@
+package com.blockchain.blockpulseservice.standin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates the synthetic mempool behind the stand-in: arrivals, RBF replacements, evictions of the cheapest
+ * transactions and blocks mining the best-paying ones, rendered as mempool.space {@code mempool-transactions}
+ * frames. Frame generation is confined to one thread; the REST views are published as immutable strings.
+ */
+class SyntheticMempool {
+    private static final int BLOCK_VSIZE = 1_000_000;
+    private static final HexFormat HEX = HexFormat.of();
+    private static final int POSITION_BITS = 22;
+    private static final long POSITION_MASK = (1L << POSITION_BITS) - 1;
+
+    private record SyntheticTransaction(String txid, int vsize, long fee, long firstSeen) {
+        double feeRate() {
+            return (double) fee / vsize;
+        }
+    }
+
+    private record Replacement(String replaced, SyntheticTransaction by) {}
+
+    private final StandInSettings settings;
+    private final SplittableRandom random;
+    private final List<SyntheticTransaction> transactions = new ArrayList<>();
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final String[] bidders;
+    private final long startMillis;
+    private long nextBlockMillis;
+    private double pendingArrivals;
+    private long sequence;
+    private long nextStatsMillis;
+    private volatile String recommendedFeesJson = "{\"fastestFee\":1,\"halfHourFee\":1,\"hourFee\":1,\"economyFee\":1,\"minimumFee\":1}";
+    private volatile String mempoolInfoJson = "{\"count\":0,\"vsize\":0,\"total_fee\":0}";
+    private volatile String statsFrame = "{\"mempoolInfo\":{\"loaded\":true,\"size\":0,\"bytes\":0},\"fees\":" + recommendedFeesJson + "}";
+
+    SyntheticMempool(StandInSettings settings, long startMillis) {
+        if (settings.maxMempoolSize() > POSITION_MASK) {
+            throw new IllegalArgumentException("max-mempool-size must not exceed " + POSITION_MASK);
+        }
+        this.settings = settings;
+        this.random = new SplittableRandom(settings.seed());
+        this.bidders = new String[settings.scenario() == Scenario.FEE_WAR ? settings.feeWarBidders() : 0];
+        this.startMillis = startMillis;
+        this.nextBlockMillis = startMillis + settings.blockIntervalSec() * 1000L;
+    }
+
+    String nextFrame(long nowMillis) {
+        var surging = isSurging(nowMillis);
+        var added = new ArrayList<SyntheticTransaction>();
+        var replaced = new ArrayList<Replacement>();
+        var removed = new ArrayList<String>();
+        var mined = new ArrayList<String>();
+
+        // before the arrivals: a transaction added or replaced in this frame must not also leave it, the
+        // receiver applies added before removed and mined, and replaced last
+        if (nowMillis >= nextBlockMillis) {
+            mineBlock(mined);
+            nextBlockMillis += settings.blockIntervalSec() * 1000L;
+        }
+        if (transactions.size() > settings.maxMempoolSize()) {
+            evictCheapest(removed);
+        }
+        pendingArrivals += settings.rate() * (surging ? settings.surgeMultiplier() : 1) / settings.framesPerSecond();
+        var arrivals = (int) pendingArrivals;
+        pendingArrivals -= arrivals;
+        for (int i = 0; i < arrivals; i++) {
+            if (!transactions.isEmpty() && random.nextDouble() < settings.replaceRatio()) {
+                var original = transactions.get(random.nextInt(transactions.size()));
+                replace(original, bumpedFee(original), nowMillis, added, replaced);
+            } else {
+                var transaction = newTransaction(drawFeeRate(surging), nowMillis);
+                add(transaction);
+                added.add(transaction);
+            }
+        }
+        if (bidders.length > 0) {
+            bid(nowMillis, added, replaced);
+        }
+        publishStats(nowMillis);
+        return render(added, removed, mined, replaced);
+    }
+
+    String recommendedFeesJson() {
+        return recommendedFeesJson;
+    }
+
+    String mempoolInfoJson() {
+        return mempoolInfoJson;
+    }
+
+    /**
+     * What the websocket {@code stats} channel pushes: bitcoind's mempool info, where {@code size} is the
+     * transaction count, and the recommended fees.
+     */
+    String statsFrame() {
+        return statsFrame;
+    }
+
+    private boolean isSurging(long nowMillis) {
+        if (settings.scenario() != Scenario.SURGE) {
+            return false;
+        }
+        var elapsedSec = (nowMillis - startMillis) / 1000;
+        return elapsedSec % settings.surgeEverySec() < settings.surgeDurationSec();
+    }
+
+    private double drawFeeRate(boolean surging) {
+        // Box-Muller
+        var gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        var feeRate = settings.medianFeeRate() * Math.exp(settings.feeRateSigma() * gaussian);
+        return Math.max(1.0, surging ? feeRate * settings.surgeMultiplier() : feeRate);
+    }
+
+    private SyntheticTransaction newTransaction(double feeRate, long nowMillis) {
+        // mostly 1-2 input segwit spends with a tail of consolidations
+        var vsize = random.nextDouble() < 0.95 ? 110 + random.nextInt(150) : 300 + random.nextInt(3000);
+        var txid = HEX.toHexDigits(random.nextLong()) + HEX.toHexDigits(random.nextLong())
+                + HEX.toHexDigits(random.nextLong()) + HEX.toHexDigits(random.nextLong());
+        return new SyntheticTransaction(txid, vsize, Math.round(feeRate * vsize), nowMillis / 1000);
+    }
+
+    private double bumpedFee(SyntheticTransaction original) {
+        // BIP125 needs a higher absolute fee and fee rate
+        return original.feeRate() * (1.05 + random.nextDouble() * 0.2) + 1;
+    }
+
+    private void bid(long nowMillis, List<SyntheticTransaction> added, List<Replacement> replaced) {
+        var bids = Math.max(1, bidders.length / settings.framesPerSecond());
+        for (int i = 0; i < bids; i++) {
+            var bidder = random.nextInt(bidders.length);
+            // a bid may have been mined, evicted or replaced by a random arrival in the meantime
+            var position = bidders[bidder] == null ? null : positions.get(bidders[bidder]);
+            var current = position == null ? null : transactions.get(position);
+            if (current == null) {
+                var transaction = newTransaction(drawFeeRate(false) * 4, nowMillis);
+                add(transaction);
+                added.add(transaction);
+                bidders[bidder] = transaction.txid();
+            } else {
+                bidders[bidder] = replace(current, bumpedFee(current), nowMillis, added, replaced).txid();
+            }
+        }
+    }
+
+    private SyntheticTransaction replace(SyntheticTransaction original, double feeRate, long nowMillis,
+                                         List<SyntheticTransaction> added, List<Replacement> replaced) {
+        remove(original.txid());
+        var replacement = newTransaction(feeRate, nowMillis);
+        add(replacement);
+        added.add(replacement);
+        replaced.add(new Replacement(original.txid(), replacement));
+        return replacement;
+    }
+
+    private void mineBlock(List<String> mined) {
+        var byFeeRate = sortedByFeeRate();
+        var blockVsize = 0;
+        for (int i = byFeeRate.length - 1; i >= 0; i--) {
+            var transaction = transactions.get(index(byFeeRate[i]));
+            if (blockVsize + transaction.vsize() > BLOCK_VSIZE) {
+                break;
+            }
+            blockVsize += transaction.vsize();
+            mined.add(transaction.txid());
+        }
+        mined.forEach(this::remove);
+        clearMinedBidders();
+    }
+
+    private void evictCheapest(List<String> removed) {
+        var byFeeRate = sortedByFeeRate();
+        // evicting a little more than the excess keeps the sort off most frames at high arrival rates
+        var excess = transactions.size() - settings.maxMempoolSize() * 95 / 100;
+        for (int i = 0; i < excess; i++) {
+            removed.add(transactions.get(index(byFeeRate[i])).txid());
+        }
+        removed.forEach(this::remove);
+        clearMinedBidders();
+    }
+
+    /**
+     * Positions in {@link #transactions} by ascending fee rate, packed as {@code milli-sat/vB << 22 | position}
+     * so a primitive sort does the work.
+     */
+    private long[] sortedByFeeRate() {
+        var keys = new long[transactions.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = Math.round(transactions.get(i).feeRate() * 1000) << POSITION_BITS | i;
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private static int index(long key) {
+        return (int) (key & POSITION_MASK);
+    }
+
+    private void clearMinedBidders() {
+        for (int i = 0; i < bidders.length; i++) {
+            if (bidders[i] != null && !positions.containsKey(bidders[i])) {
+                bidders[i] = null;
+            }
+        }
+    }
+
+    private void add(SyntheticTransaction transaction) {
+        positions.put(transaction.txid(), transactions.size());
+        transactions.add(transaction);
+    }
+
+    private void remove(String txid) {
+        var position = positions.remove(txid);
+        if (position == null) {
+            return;
+        }
+        // swap-remove keeps removal O(1)
+        var last = transactions.removeLast();
+        if (position < transactions.size()) {
+            transactions.set(position, last);
+            positions.put(last.txid(), position);
+        }
+    }
+
+    private void publishStats(long nowMillis) {
+        if (nowMillis < nextStatsMillis) {
+            return;
+        }
+        nextStatsMillis = nowMillis + 1000;
+        long totalVsize = 0;
+        long totalFee = 0;
+        for (var transaction : transactions) {
+            totalVsize += transaction.vsize();
+            totalFee += transaction.fee();
+        }
+        mempoolInfoJson = "{\"count\":%d,\"vsize\":%d,\"total_fee\":%d}".formatted(transactions.size(), totalVsize, totalFee);
+        // fee rate at the middle of the 1st, 3rd and 6th projected block, like mempool.space's recommendations
+        var byFeeRate = sortedByFeeRate();
+        var fastest = feeRateAt(byFeeRate, BLOCK_VSIZE / 2);
+        var halfHour = Math.min(fastest, feeRateAt(byFeeRate, 2 * BLOCK_VSIZE + BLOCK_VSIZE / 2));
+        var hour = Math.min(halfHour, feeRateAt(byFeeRate, 5 * BLOCK_VSIZE + BLOCK_VSIZE / 2));
+        recommendedFeesJson = "{\"fastestFee\":%d,\"halfHourFee\":%d,\"hourFee\":%d,\"economyFee\":%d,\"minimumFee\":1}"
+                .formatted(fastest, halfHour, hour, Math.min(hour, 2));
+        statsFrame = "{\"mempoolInfo\":{\"loaded\":true,\"size\":%d,\"bytes\":%d},\"fees\":%s}"
+                .formatted(transactions.size(), totalVsize, recommendedFeesJson);
+    }
+
+    private long feeRateAt(long[] byFeeRate, long vsizePosition) {
+        long cumulative = 0;
+        for (int i = byFeeRate.length - 1; i >= 0; i--) {
+            cumulative += transactions.get(index(byFeeRate[i])).vsize();
+            if (cumulative >= vsizePosition) {
+                return Math.max(1, Math.round((byFeeRate[i] >>> POSITION_BITS) / 1000.0));
+            }
+        }
+        return 1;
+    }
+
+    private String render(List<SyntheticTransaction> added, List<String> removed, List<String> mined, List<Replacement> replaced) {
+        var json = new StringBuilder(64 + added.size() * 140 + (removed.size() + mined.size()) * 70);
+        json.append("{\"mempool-transactions\":{\"sequence\":").append(++sequence).append(",\"added\":[");
+        for (int i = 0; i < added.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendTransaction(json, added.get(i));
+        }
+        json.append("],\"removed\":");
+        appendTxids(json, removed);
+        json.append(",\"mined\":");
+        appendTxids(json, mined);
+        json.append(",\"replaced\":[");
+        for (int i = 0; i < replaced.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"replaced\":\"").append(replaced.get(i).replaced()).append("\",\"by\":");
+            appendTransaction(json, replaced.get(i).by());
+            json.append('}');
+        }
+        return json.append("]}}").toString();
+    }
+
+    private static void appendTransaction(StringBuilder json, SyntheticTransaction transaction) {
+        json.append("{\"txid\":\"").append(transaction.txid())
+                .append("\",\"vsize\":").append(transaction.vsize())
+                .append(",\"weight\":").append(transaction.vsize() * 4)
+                .append(",\"fee\":").append(transaction.fee())
+                .append(",\"feePerVsize\":").append(transaction.feeRate())
+                .append(",\"firstSeen\":").append(transaction.firstSeen())
+                .append('}');
+    }
+
+    private static void appendTxids(StringBuilder json, List<String> txids) {
+        json.append('[');
+        for (int i = 0; i < txids.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(txids.get(i)).append('"');
+        }
+        json.append(']');
+    }
+}
@@ -0,0 +1,27 @@
+package com.blockchain.blockpulseservice.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("blockpulse.FrameParsed")
+@Label("Frame Parsed")
+@Category({"BlockPulse", "WebSocket"})
+@Description("Spans the first to the last fragment of a frame; parse time excludes waits between fragments")
+@StackTrace(false)
+public class FrameParsedEvent extends jdk.jfr.Event {
+    @Label("Length")
+    @DataAmount
+    public long length;
+
+    @Label("Transactions")
+    public int transactions;
+
+    @Label("Parse Time")
+    @Timespan
+    public long parseTime;
+}
@@ -0,0 +1,22 @@
+package com.blockchain.blockpulseservice.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("blockpulse.FrameReceived")
+@Label("Frame Fragment Received")
+@Category({"BlockPulse", "WebSocket"})
+@Description("Text fragment delivered by the websocket container")
+@StackTrace(false)
+public class FrameReceivedEvent extends jdk.jfr.Event {
+    @Label("Length")
+    @DataAmount
+    public int length;
+
+    @Label("Last Fragment")
+    public boolean last;
+}
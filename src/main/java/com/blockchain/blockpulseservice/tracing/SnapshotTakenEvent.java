@@ -0,0 +1,18 @@
+package com.blockchain.blockpulseservice.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("blockpulse.SnapshotTaken")
+@Label("Window Snapshot Taken")
+@Category({"BlockPulse", "Window"})
+@StackTrace(false)
+public class SnapshotTakenEvent extends jdk.jfr.Event {
+    @Label("Batch Size")
+    public int batchSize;
+
+    @Label("Window Transactions")
+    public int windowTransactions;
+}
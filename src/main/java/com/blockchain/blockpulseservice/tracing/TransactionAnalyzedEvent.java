@@ -0,0 +1,18 @@
+package com.blockchain.blockpulseservice.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("blockpulse.TransactionAnalyzed")
+@Label("Transaction Analyzed")
+@Category({"BlockPulse", "Transaction"})
+@StackTrace(false)
+public class TransactionAnalyzedEvent extends jdk.jfr.Event {
+    @Label("Txid")
+    public String txid;
+
+    @Label("Analyzer")
+    public String analyzer;
+}
@@ -0,0 +1,23 @@
+package com.blockchain.blockpulseservice.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("blockpulse.TransactionEnqueued")
+@Label("Transaction Enqueued")
+@Category({"BlockPulse", "Transaction"})
+@Description("Hand-off of a sampled transaction to the ingest buffer, including any wait for room")
+@StackTrace(false)
+public class TransactionEnqueuedEvent extends jdk.jfr.Event {
+    @Label("Txid")
+    public String txid;
+
+    @Label("Accepted")
+    public boolean accepted;
+
+    @Label("Queue Depth")
+    public int queueDepth;
+}
@@ -0,0 +1,23 @@
+package com.blockchain.blockpulseservice.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("blockpulse.TransactionPublished")
+@Label("Transaction Published")
+@Category({"BlockPulse", "Transaction"})
+@StackTrace(false)
+public class TransactionPublishedEvent extends jdk.jfr.Event {
+    @Label("Txid")
+    public String txid;
+
+    @Label("Sequence")
+    public int seq;
+
+    @Label("Latency")
+    @Timespan
+    public long latency;
+}
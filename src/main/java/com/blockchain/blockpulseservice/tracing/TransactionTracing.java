@@ -0,0 +1,34 @@
+package com.blockchain.blockpulseservice.tracing;
+
+import com.blockchain.blockpulseservice.model.TxId;
+
+/**
+ * Decides which transactions get per-stage JFR events. The decision is a function of the txid only,
+ * so a sampled transaction is traced at every stage and its events can be joined in JMC.
+ */
+public final class TransactionTracing {
+    private static volatile int sampleRate;
+
+    private TransactionTracing() {}
+
+    /**
+     * @param rate trace one of every {@code rate} transactions, 0 disables per-transaction events
+     */
+    public static void configure(int rate) {
+        sampleRate = Math.max(0, rate);
+    }
+
+    public static boolean isSampled(TxId txid) {
+        var rate = sampleRate;
+        // TxId hashes by folding its first word, so this is a few ALU ops and a modulo on the hot path
+        return rate != 0 && txid != null && Math.floorMod(txid.hashCode(), rate) == 0;
+    }
+
+    /**
+     * Same decision for a txid that is only available rendered, e.g. in a DTO. Parses only while enabled.
+     */
+    public static boolean isSampled(String hexTxid) {
+        return sampleRate != 0 && hexTxid != null && hexTxid.length() == TxId.HEX_LENGTH
+                && isSampled(TxId.fromHex(hexTxid));
+    }
+}
@@ -0,0 +1,110 @@
+package com.blockchain.blockpulseservice.fixture;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HexFormat;
+import java.util.Random;
+
+/**
+ * Test and benchmark inputs derived from the mempool.space frame recorded in {@code tx-mempoolsace.json}.
+ */
+public final class RecordedFrames {
+    public static final String RECORDED_FRAME_RESOURCE = "/tx-mempoolsace.json";
+    // same relevant settings as the ObjectMapper Spring Boot auto-configures
+    public static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private RecordedFrames() {}
+
+    public static String recordedFrame() {
+        try (var in = RecordedFrames.class.getResourceAsStream(RECORDED_FRAME_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing recorded frame " + RECORDED_FRAME_RESOURCE);
+            }
+            return new String(in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The recorded frame with its {@code added} transactions repeated until there are {@code transactions}
+     * of them, each with a fresh txid.
+     */
+    public static String frameWith(int transactions) {
+        try {
+            var root = (ObjectNode) OBJECT_MAPPER.readTree(recordedFrame());
+            var added = (ArrayNode) root.path("mempool-transactions").path("added");
+            var templates = added.deepCopy();
+            added.removeAll();
+            var random = new Random(42);
+            var txid = new byte[32];
+            for (int i = 0; i < transactions; i++) {
+                var tx = (ObjectNode) templates.get(i % templates.size()).deepCopy();
+                random.nextBytes(txid);
+                tx.put("txid", HexFormat.of().formatHex(txid));
+                added.add(tx);
+            }
+            return OBJECT_MAPPER.writeValueAsString(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The recorded frame with every kind of delta and the pushed stats added: {@code removed} and {@code mined}
+     * as txids and as objects, {@code replaced} with and without its replacement, {@code fees},
+     * {@code mempoolInfo} and an unknown nested field with multi-byte characters to skip.
+     */
+    public static String frameWithEveryDelta() {
+        try {
+            var root = (ObjectNode) OBJECT_MAPPER.readTree(recordedFrame());
+            var deltas = (ObjectNode) root.path("mempool-transactions");
+            var added = (ArrayNode) deltas.path("added");
+            var random = new Random(7);
+            deltas.putArray("removed")
+                    .add(randomTxid(random))
+                    .add(deltas.objectNode().put("txid", randomTxid(random)).put("reason", "expired"))
+                    .add("not-a-txid");
+            deltas.putArray("mined")
+                    .add(randomTxid(random))
+                    .add(deltas.objectNode().put("txid", randomTxid(random)));
+            var replacedArray = deltas.putArray("replaced");
+            replacedArray.addObject()
+                    .put("replaced", randomTxid(random))
+                    .set("by", added.get(0).deepCopy());
+            replacedArray.addObject()
+                    .putObject("replaced").put("txid", randomTxid(random));
+            root.putObject("fees")
+                    .put("fastestFee", 12.5)
+                    .put("halfHourFee", 8)
+                    .put("hourFee", 5)
+                    .put("economyFee", 2)
+                    .put("minimumFee", 1);
+            root.putObject("mempoolInfo")
+                    .put("loaded", true)
+                    .put("size", 123456)
+                    .put("bytes", 98765432);
+            root.putObject("da")
+                    .put("note", "Größe \u20ac \uD83D\uDE80")
+                    .putArray("nested").addArray().addObject().put("added", "[{\"txid\":\"x\"}]");
+            return OBJECT_MAPPER.writeValueAsString(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String randomTxid(Random random) {
+        var txid = new byte[32];
+        random.nextBytes(txid);
+        return HexFormat.of().formatHex(txid);
+    }
+}
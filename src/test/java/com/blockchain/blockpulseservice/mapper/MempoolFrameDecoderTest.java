@@ -0,0 +1,116 @@
+package com.blockchain.blockpulseservice.mapper;
+
+import com.blockchain.blockpulseservice.fixture.RecordedFrames;
+import com.blockchain.blockpulseservice.model.Transaction;
+import com.blockchain.blockpulseservice.model.TxId;
+import com.blockchain.blockpulseservice.model.dto.MempoolInfoDTO;
+import com.blockchain.blockpulseservice.model.dto.RecommendedTransactionFeeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MempoolFrameDecoderTest {
+    private final MempoolTransactionsDecoder decoder = new MempoolTransactionsDecoder(RecordedFrames.OBJECT_MAPPER);
+    private byte[] frame;
+    private List<String> unsplitDeltas;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        frame = RecordedFrames.frameWithEveryDelta().getBytes(StandardCharsets.UTF_8);
+        var listener = new RecordingListener();
+        var frameDecoder = decoder.newFrameDecoder(listener);
+        frameDecoder.feed(frame, 0, frame.length);
+        frameDecoder.endOfFrame();
+        unsplitDeltas = listener.deltas;
+    }
+
+    @Test
+    void unsplitFrameDecodesEveryDelta() {
+        assertThat(unsplitDeltas).filteredOn(delta -> delta.startsWith("added ")).hasSize(9);
+        assertThat(unsplitDeltas).filteredOn(delta -> delta.startsWith("removed ")).hasSize(2);
+        assertThat(unsplitDeltas).filteredOn(delta -> delta.startsWith("mined ")).hasSize(2);
+        assertThat(unsplitDeltas).filteredOn(delta -> delta.startsWith("replaced ")).hasSize(2)
+                .anyMatch(delta -> delta.endsWith(" by null"))
+                .anyMatch(delta -> !delta.endsWith(" by null"));
+        assertThat(unsplitDeltas).contains(
+                "fees " + new RecommendedTransactionFeeDTO(12.5, 8, 5, 2),
+                "mempoolInfo " + new MempoolInfoDTO(123456));
+        assertThat(unsplitDeltas).last().isEqualTo("frameDecoded");
+    }
+
+    @Test
+    void frameSplitAtEveryByteOffsetDecodesLikeTheUnsplitFrame() throws IOException {
+        var listener = new RecordingListener();
+        // one decoder for every split, so each frame also starts from the state the previous one left behind
+        var frameDecoder = decoder.newFrameDecoder(listener);
+        for (int split = 0; split <= frame.length; split++) {
+            listener.deltas.clear();
+            frameDecoder.feed(frame, 0, split);
+            frameDecoder.feed(frame, split, frame.length - split);
+            frameDecoder.endOfFrame();
+            assertThat(listener.deltas).as("split at byte %d", split).isEqualTo(unsplitDeltas);
+        }
+    }
+
+    @Test
+    void frameFedOneByteAtATimeDecodesLikeTheUnsplitFrame() throws IOException {
+        var listener = new RecordingListener();
+        var frameDecoder = decoder.newFrameDecoder(listener);
+        for (int offset = 0; offset < frame.length; offset++) {
+            frameDecoder.feed(frame, offset, 1);
+        }
+        frameDecoder.endOfFrame();
+        assertThat(listener.deltas).isEqualTo(unsplitDeltas);
+    }
+
+    private static final class RecordingListener implements MempoolDeltaListener {
+        private final List<String> deltas = new ArrayList<>();
+
+        @Override
+        public void added(Transaction transaction) {
+            deltas.add("added " + describe(transaction));
+        }
+
+        @Override
+        public void removed(TxId txid) {
+            deltas.add("removed " + txid.toHex());
+        }
+
+        @Override
+        public void mined(TxId txid) {
+            deltas.add("mined " + txid.toHex());
+        }
+
+        @Override
+        public void replaced(TxId replacedTxid, Transaction replacement) {
+            deltas.add("replaced " + replacedTxid.toHex() + " by " + (replacement == null ? null : describe(replacement)));
+        }
+
+        @Override
+        public void fees(RecommendedTransactionFeeDTO fees) {
+            deltas.add("fees " + fees);
+        }
+
+        @Override
+        public void mempoolInfo(MempoolInfoDTO mempoolInfo) {
+            deltas.add("mempoolInfo " + mempoolInfo);
+        }
+
+        @Override
+        public void frameDecoded() {
+            deltas.add("frameDecoded");
+        }
+
+        // receivedAt is the decode time and differs between runs
+        private static String describe(Transaction transaction) {
+            return transaction.hash().toHex() + " " + transaction.feePerVSize() + " " + transaction.totalFee()
+                    + " " + transaction.vSize() + " " + transaction.time();
+        }
+    }
+}
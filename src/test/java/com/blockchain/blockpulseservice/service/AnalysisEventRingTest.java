@@ -0,0 +1,75 @@
+package com.blockchain.blockpulseservice.service;
+
+import com.blockchain.blockpulseservice.model.dto.AnalyzedTransactionDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalysisEventRingTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AnalysisEventRing ring = new AnalysisEventRing(8);
+
+    @Test
+    void rangeReturnsTheEventsAfterTheGivenSeq() {
+        addAll(1, 6);
+
+        assertThat(seqs(ring.range(2, 6))).containsExactly(3, 4, 5, 6);
+        assertThat(seqs(ring.range(0, 6))).containsExactly(1, 2, 3, 4, 5, 6);
+        assertThat(ring.range(6, 6)).isEmpty();
+        // a client ahead of the publisher gets nothing rather than the whole ring
+        assertThat(ring.range(9, 6)).isEmpty();
+    }
+
+    @Test
+    void rangeIsLimitedToTheRetainedEvents() {
+        addAll(1, 20);
+
+        assertThat(seqs(ring.range(0, 20))).containsExactly(13, 14, 15, 16, 17, 18, 19, 20);
+        assertThat(seqs(ring.range(15, 20))).containsExactly(16, 17, 18, 19, 20);
+    }
+
+    @Test
+    void rangeEndingAtMaxValueTerminates() {
+        addAll(Integer.MAX_VALUE - 3, Integer.MAX_VALUE);
+
+        assertThat(seqs(ring.range(Integer.MAX_VALUE - 2, Integer.MAX_VALUE)))
+                .containsExactly(Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void rangeSpansTheWrapOfSeq() {
+        addAll(Integer.MAX_VALUE - 2, Integer.MIN_VALUE + 2);
+
+        assertThat(seqs(ring.range(Integer.MAX_VALUE - 1, Integer.MIN_VALUE + 1)))
+                .containsExactly(Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1);
+        assertThat(seqs(ring.range(Integer.MIN_VALUE - 8, Integer.MIN_VALUE + 2))).containsExactly(
+                Integer.MAX_VALUE - 2, Integer.MAX_VALUE - 1, Integer.MAX_VALUE,
+                Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MIN_VALUE + 2);
+    }
+
+    @Test
+    void capacityAbove2To30IsRejected() {
+        assertThat(new AnalysisEventRing(5).capacity()).isEqualTo(8);
+        assertThatThrownBy(() -> new AnalysisEventRing(AnalysisEventRing.MAX_CAPACITY + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AnalysisEventRing(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void addAll(int fromSeq, int toSeq) {
+        for (int seq = fromSeq; ; seq++) {
+            ring.add(new AnalysisEvent(AnalyzedTransactionDTO.builder().id("tx" + seq).seq(seq).build(),
+                    objectMapper.writerFor(AnalyzedTransactionDTO.class)));
+            if (seq == toSeq) {
+                return;
+            }
+        }
+    }
+
+    private static List<Integer> seqs(List<AnalysisEvent> events) {
+        return events.stream().map(event -> event.dto().seq()).toList();
+    }
+}
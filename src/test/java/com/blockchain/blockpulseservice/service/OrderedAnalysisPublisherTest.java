@@ -0,0 +1,65 @@
+package com.blockchain.blockpulseservice.service;
+
+import com.blockchain.blockpulseservice.model.dto.AnalyzedTransactionDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderedAnalysisPublisherTest {
+    private final RecordingStream stream = new RecordingStream();
+    private final OrderedAnalysisPublisher publisher = new OrderedAnalysisPublisher(stream, new SimpleMeterRegistry());
+
+    @Test
+    void chunksCompletedOutOfOrderArePublishedInSequenceOrder() {
+        publisher.complete(4, results(4, 3), new long[3]);
+        publisher.complete(7, results(7, 2), new long[2]);
+        assertThat(stream.published).isEmpty();
+
+        publisher.complete(1, results(1, 3), new long[3]);
+
+        assertThat(stream.published).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+    }
+
+    @Test
+    void failedTransactionsAndPublishFailuresDoNotHoldBackLaterChunks() {
+        stream.failingSeq = 2;
+        var withFailedAnalysis = results(4, 3);
+        withFailedAnalysis[1] = null;
+
+        publisher.complete(1, results(1, 3), new long[3]);
+        publisher.complete(4, withFailedAnalysis, new long[3]);
+        publisher.complete(7, results(7, 1), new long[1]);
+
+        assertThat(stream.published).containsExactly(1, 3, 4, 6, 7);
+    }
+
+    private static AnalyzedTransactionDTO[] results(int firstSeq, int count) {
+        var results = new AnalyzedTransactionDTO[count];
+        for (int i = 0; i < count; i++) {
+            results[i] = AnalyzedTransactionDTO.builder().id("tx" + (firstSeq + i)).seq(firstSeq + i).build();
+        }
+        return results;
+    }
+
+    private static final class RecordingStream extends AnalysisStream {
+        private final List<Integer> published = new ArrayList<>();
+        private int failingSeq;
+
+        private RecordingStream() {
+            super(new ObjectMapper(), 16);
+        }
+
+        @Override
+        public void publish(AnalyzedTransactionDTO dto, long receivedAt) {
+            if (dto.seq() == failingSeq) {
+                throw new IllegalStateException("Publishing seq " + failingSeq + " failed");
+            }
+            published.add(dto.seq());
+        }
+    }
+}
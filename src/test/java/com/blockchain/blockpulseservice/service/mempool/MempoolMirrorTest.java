@@ -0,0 +1,191 @@
+package com.blockchain.blockpulseservice.service.mempool;
+
+import com.blockchain.blockpulseservice.model.Transaction;
+import com.blockchain.blockpulseservice.model.TxId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MempoolMirrorTest {
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final Map<TxId, Transaction> reference = new HashMap<>();
+    private final List<TxId> txids = new ArrayList<>();
+    private MempoolMirror mirror;
+
+    @BeforeEach
+    void setUp() {
+        mirror = new MempoolMirror(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void churnPastInitialCapacityMatchesReferenceModel() {
+        // grow well past the initial 16k slots, then churn and shrink so freed slots are reused
+        for (int i = 0; i < 60_000; i++) {
+            add(randomTransaction(randomTxid()));
+            if (i % 5_000 == 0) {
+                assertMatchesReference();
+            }
+        }
+        assertMatchesReference();
+        for (int i = 0; i < 200_000; i++) {
+            var op = random.nextInt(10);
+            if (op < 3 || txids.isEmpty()) {
+                add(randomTransaction(randomTxid()));
+            } else if (op == 3) {
+                // already known, must be ignored
+                add(reference.get(anyTxid()));
+            } else if (op < 6) {
+                var txid = removeAny();
+                mirror.removed(txid);
+            } else if (op < 8) {
+                var txid = removeAny();
+                mirror.mined(txid);
+            } else if (op == 8) {
+                var replacedTxid = removeAny();
+                var replacement = randomTransaction(randomTxid());
+                reference.put(replacement.hash(), replacement);
+                txids.add(replacement.hash());
+                mirror.replaced(replacedTxid, replacement);
+            } else {
+                // unknown txids are counted and otherwise ignored
+                mirror.removed(randomTxid());
+                mirror.replaced(randomTxid(), null);
+            }
+            if (i % 10_000 == 0) {
+                assertMatchesReference();
+            }
+        }
+        assertMatchesReference();
+        while (!txids.isEmpty()) {
+            mirror.mined(removeAny());
+        }
+        assertMatchesReference();
+        assertThat(mirror.feeRateAtDepth(0)).isZero();
+    }
+
+    @Test
+    void deletionsInsideOneProbeRunKeepTheRestFindable() {
+        // w0 = i << 32 | i folds to the same bucket for every i, so all entries share one probe run
+        for (int i = 1; i <= 500; i++) {
+            add(randomTransaction(new TxId((long) i << 32 | i, random.nextLong(), random.nextLong(), random.nextLong())));
+        }
+        Collections.shuffle(txids, new Random(7));
+        while (!txids.isEmpty()) {
+            mirror.removed(removeAny());
+            for (var txid : txids) {
+                assertThat(mirror.contains(txid)).isTrue();
+            }
+        }
+        assertMatchesReference();
+    }
+
+    @Test
+    void clearForgetsEverythingAndAcceptsNewEntries() {
+        for (int i = 0; i < 20_000; i++) {
+            add(randomTransaction(randomTxid()));
+        }
+        var known = txids.getFirst();
+        mirror.clear();
+        reference.clear();
+        txids.clear();
+        assertThat(mirror.contains(known)).isFalse();
+        assertMatchesReference();
+        for (int i = 0; i < 1_000; i++) {
+            add(randomTransaction(randomTxid()));
+        }
+        assertMatchesReference();
+    }
+
+    @Test
+    void depthIsCountedInVbytesFromTheHighestFeeRate() {
+        add(transaction(randomTxid(), 5_000, 100));
+        add(transaction(randomTxid(), 20_000, 50));
+        add(transaction(randomTxid(), 1_000, 200));
+
+        assertThat(mirror.feeRateAtDepth(0)).isEqualTo(20_000);
+        assertThat(mirror.feeRateAtDepth(49)).isEqualTo(20_000);
+        assertThat(mirror.feeRateAtDepth(50)).isEqualTo(5_000);
+        assertThat(mirror.feeRateAtDepth(149)).isEqualTo(5_000);
+        assertThat(mirror.feeRateAtDepth(150)).isEqualTo(1_000);
+        assertThat(mirror.feeRateAtDepth(349)).isEqualTo(1_000);
+        assertThat(mirror.feeRateAtDepth(350)).isZero();
+        assertThatThrownBy(() -> mirror.feeRateAtDepth(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void add(Transaction transaction) {
+        if (reference.putIfAbsent(transaction.hash(), transaction) == null) {
+            txids.add(transaction.hash());
+        }
+        mirror.added(transaction);
+    }
+
+    private TxId anyTxid() {
+        return txids.get(random.nextInt(txids.size()));
+    }
+
+    private TxId removeAny() {
+        var index = random.nextInt(txids.size());
+        var last = txids.removeLast();
+        var txid = index < txids.size() ? txids.set(index, last) : last;
+        reference.remove(txid);
+        return txid;
+    }
+
+    private void assertMatchesReference() {
+        assertThat(mirror.size()).isEqualTo(reference.size());
+        var totalVsize = reference.values().stream().mapToLong(Transaction::vSize).sum();
+        assertThat(mirror.totalVsize()).isEqualTo(totalVsize);
+        for (int i = 0; i < Math.min(200, txids.size()); i++) {
+            assertThat(mirror.contains(anyTxid())).isTrue();
+        }
+
+        var byFeeRate = reference.values().stream()
+                .sorted(Comparator.comparingLong(Transaction::feePerVSize).reversed())
+                .toList();
+        var depths = new ArrayList<>(List.of(0L, Math.max(0, totalVsize - 1), totalVsize, totalVsize + 1_000));
+        for (int i = 0; i < 50 && totalVsize > 0; i++) {
+            depths.add(random.nextLong(totalVsize));
+        }
+        for (var depth : depths) {
+            assertThat(mirror.feeRateAtDepth(depth)).as("fee rate at depth %d", depth)
+                    .isEqualTo(referenceFeeRateAtDepth(byFeeRate, depth));
+        }
+    }
+
+    private static long referenceFeeRateAtDepth(List<Transaction> byFeeRate, long depth) {
+        long top = 0;
+        for (var transaction : byFeeRate) {
+            top += transaction.vSize();
+            if (depth < top) {
+                return transaction.feePerVSize();
+            }
+        }
+        return 0;
+    }
+
+    private TxId randomTxid() {
+        return new TxId(random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong());
+    }
+
+    private Transaction randomTransaction(TxId txid) {
+        // few distinct fee rates, so ties in the fee order are common
+        return transaction(txid, 1_000L * (1 + random.nextInt(200)), 60 + random.nextInt(2_000));
+    }
+
+    private static Transaction transaction(TxId txid, long feePerVSize, int vSize) {
+        return new Transaction(txid, feePerVSize, feePerVSize * vSize / 1_000, vSize, Instant.EPOCH, 0);
+    }
+}
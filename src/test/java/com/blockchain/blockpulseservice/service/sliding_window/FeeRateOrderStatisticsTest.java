@@ -0,0 +1,117 @@
+package com.blockchain.blockpulseservice.service.sliding_window;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeeRateOrderStatisticsTest {
+    private static final int CAPACITY = 2_000;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final TransactionsPercentile percentile = new TransactionsPercentile();
+    private final FeeRateOrderStatistics statistics = new FeeRateOrderStatistics(CAPACITY);
+    // ascending, like the ranks of the treap
+    private final List<Long> reference = new ArrayList<>();
+
+    @Test
+    void randomInsertsAndRemovesMatchSortedReference() {
+        for (int i = 0; i < 200_000; i++) {
+            // grow towards the capacity, then hover around it so removed nodes are reused
+            if (reference.isEmpty() || reference.size() < CAPACITY && random.nextInt(100) < 55) {
+                add(randomFeeRate());
+            } else {
+                removeAt(random.nextInt(reference.size()));
+            }
+            if (i % 1_000 == 0) {
+                assertMatchesReference();
+            }
+        }
+        while (!reference.isEmpty()) {
+            removeAt(random.nextInt(reference.size()));
+        }
+        assertMatchesReference();
+    }
+
+    @Test
+    void duplicatesShareANodeAndAreRemovedOneAtATime() {
+        for (int i = 0; i < 5; i++) {
+            add(7_000);
+        }
+        add(3_000);
+        add(9_000);
+        assertMatchesReference();
+
+        removeAt(reference.indexOf(7_000L));
+        removeAt(reference.indexOf(7_000L));
+        assertMatchesReference();
+        assertThat(statistics.select(1)).isEqualTo(7_000);
+        assertThat(statistics.select(3)).isEqualTo(7_000);
+        assertThat(statistics.select(4)).isEqualTo(9_000);
+    }
+
+    @Test
+    void releasedNodesAreReusedOnceCapacityIsReached() {
+        // distinct fee rates need a node each
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < CAPACITY; i++) {
+                add(round * 1_000_000L + i);
+            }
+            assertThatThrownBy(() -> statistics.add(-1)).isInstanceOf(IllegalStateException.class);
+            assertMatchesReference();
+            while (!reference.isEmpty()) {
+                removeAt(random.nextInt(reference.size()));
+            }
+            assertMatchesReference();
+        }
+    }
+
+    @Test
+    void outOfRangeRanksAndUnknownFeeRatesAreRejected() {
+        assertThatThrownBy(() -> statistics.select(0)).isInstanceOf(IndexOutOfBoundsException.class);
+        add(1_000);
+        assertThatThrownBy(() -> statistics.select(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> statistics.select(1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> statistics.remove(2_000)).isInstanceOf(IllegalStateException.class);
+        assertMatchesReference();
+    }
+
+    private void add(long feeRate) {
+        var index = Collections.binarySearch(reference, feeRate);
+        reference.add(index < 0 ? -index - 1 : index, feeRate);
+        statistics.add(feeRate);
+    }
+
+    private void removeAt(int index) {
+        statistics.remove(reference.remove(index));
+    }
+
+    private void assertMatchesReference() {
+        assertThat(statistics.size()).isEqualTo(reference.size());
+        assertThat(statistics.isEmpty()).isEqualTo(reference.isEmpty());
+        for (int rank = 0; rank < reference.size(); rank++) {
+            assertThat(statistics.select(rank)).as("rank %d", rank).isEqualTo(reference.get(rank));
+        }
+        if (reference.isEmpty()) {
+            return;
+        }
+        for (var p : new double[]{0.01, 0.25, 0.5, 0.75, 0.99, 1.0}) {
+            var index = Math.max(0, (int) Math.ceil(p * reference.size()) - 1);
+            assertThat(percentile.getPercentileFeeRate(p, statistics)).as("percentile %s", p)
+                    .isEqualTo(reference.get(index));
+        }
+        var mid = reference.size() / 2;
+        var median = reference.size() % 2 == 0 ? (reference.get(mid - 1) + reference.get(mid) + 1) / 2 : reference.get(mid);
+        assertThat(percentile.getMedianFeeRate(statistics)).isEqualTo(median);
+    }
+
+    private long randomFeeRate() {
+        // few distinct rates, so most nodes carry duplicates
+        return 1_000L * (1 + random.nextInt(300));
+    }
+}
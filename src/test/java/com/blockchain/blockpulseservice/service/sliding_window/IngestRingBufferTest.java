@@ -0,0 +1,122 @@
+package com.blockchain.blockpulseservice.service.sliding_window;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IngestRingBufferTest {
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 100_000;
+
+    @Test
+    void blockLosesAndDuplicatesNothing() throws InterruptedException {
+        var buffer = new IngestRingBuffer<Long>(64, OverloadPolicy.BLOCK, 10);
+
+        var received = produceAndConsume(buffer, false);
+
+        assertThat(received).hasSize(PRODUCERS * PER_PRODUCER);
+        assertThat(new HashSet<>(received)).hasSize(PRODUCERS * PER_PRODUCER);
+        assertThat(buffer.droppedCount()).isZero();
+        assertThat(buffer.enqueuedCount()).isEqualTo(PRODUCERS * PER_PRODUCER);
+        assertInProducerOrder(received);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = OverloadPolicy.class, names = "BLOCK", mode = EnumSource.Mode.EXCLUDE)
+    void droppingPoliciesCountEveryTransactionNotReceived(OverloadPolicy policy) throws InterruptedException {
+        var buffer = new IngestRingBuffer<Long>(64, policy, 10);
+
+        // a slow consumer, so the buffer overflows
+        var received = produceAndConsume(buffer, true);
+
+        assertThat(buffer.droppedCount()).isPositive();
+        assertThat(received.size() + buffer.droppedCount()).isEqualTo(PRODUCERS * PER_PRODUCER);
+        assertThat(new HashSet<>(received)).hasSize(received.size());
+        assertInProducerOrder(received);
+        switch (policy) {
+            // every transaction gets in, the dropped ones are evicted later
+            case DROP_OLDEST -> assertThat(buffer.enqueuedCount()).isEqualTo(PRODUCERS * PER_PRODUCER);
+            case DROP_NEWEST -> assertThat(buffer.enqueuedCount()).isEqualTo(received.size());
+            // some dropped ones were evicted, the others rejected
+            case SAMPLE -> assertThat(buffer.enqueuedCount())
+                    .isGreaterThan(received.size())
+                    .isLessThan(PRODUCERS * PER_PRODUCER);
+            default -> throw new IllegalArgumentException("Not a dropping policy: " + policy);
+        }
+    }
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwoWithinBounds() {
+        assertThat(new IngestRingBuffer<Long>(1, OverloadPolicy.BLOCK, 10).capacity()).isEqualTo(1);
+        assertThat(new IngestRingBuffer<Long>(100, OverloadPolicy.BLOCK, 10).capacity()).isEqualTo(128);
+        assertThatThrownBy(() -> new IngestRingBuffer<Long>(0, OverloadPolicy.BLOCK, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IngestRingBuffer<Long>(IngestRingBuffer.MAX_CAPACITY + 1, OverloadPolicy.BLOCK, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Elements are {@code producer << 32 | index}. Consumes on the calling thread, like the analyzer thread,
+     * until every published element is either received or counted as dropped.
+     */
+    private static List<Long> produceAndConsume(IngestRingBuffer<Long> buffer, boolean slowConsumer) throws InterruptedException {
+        var producers = new ArrayList<Thread>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producer = p;
+            producers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    for (int i = 0; i < PER_PRODUCER; i++) {
+                        buffer.publish(producer << 32 | i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        var received = new ArrayList<Long>(PRODUCERS * PER_PRODUCER);
+        var batch = new ArrayList<Long>();
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received.size() + buffer.droppedCount() < (long) PRODUCERS * PER_PRODUCER) {
+            assertThat(System.nanoTime()).as("all elements received or dropped in time").isLessThan(deadline);
+            var element = buffer.poll(10, TimeUnit.MILLISECONDS);
+            if (element == null) {
+                continue;
+            }
+            batch.clear();
+            batch.add(element);
+            buffer.drainTo(batch, 15);
+            received.addAll(batch);
+            if (slowConsumer) {
+                LockSupport.parkNanos(1_000);
+            }
+        }
+        for (var producer : producers) {
+            producer.join();
+        }
+        // nothing left behind once every element is accounted for
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+        return received;
+    }
+
+    private static void assertInProducerOrder(List<Long> received) {
+        var last = new long[PRODUCERS];
+        Arrays.fill(last, -1);
+        for (var element : received) {
+            var producer = (int) (element >>> 32);
+            var index = element & 0xFFFFFFFFL;
+            assertThat(index).as("element of producer %d", producer).isGreaterThan(last[producer]);
+            last[producer] = index;
+        }
+    }
+}
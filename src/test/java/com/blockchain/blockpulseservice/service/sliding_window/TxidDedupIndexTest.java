@@ -0,0 +1,105 @@
+package com.blockchain.blockpulseservice.service.sliding_window;
+
+import com.blockchain.blockpulseservice.model.TxId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TxidDedupIndexTest {
+    private static final int GENERATION_SIZE = 100;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final TxidDedupIndex index = new TxidDedupIndex(GENERATION_SIZE);
+
+    @Test
+    void repeatedTxidIsAHitAndNewOneAMiss() {
+        var txid = randomTxid();
+
+        assertThat(index.add(txid)).isTrue();
+        assertThat(index.add(txid)).isFalse();
+        assertThat(index.add(txid)).isFalse();
+        assertThat(index.add(randomTxid())).isTrue();
+
+        assertThat(index.hitCount()).isEqualTo(2);
+        assertThat(index.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void txidsAreRememberedForAtLeastOneGeneration() {
+        var first = addAll(GENERATION_SIZE);
+        // the first generation is full, the next txid rotates it into the previous one
+        var second = addAll(GENERATION_SIZE);
+
+        for (var txid : first) {
+            assertThat(index.add(txid)).isFalse();
+        }
+        for (var txid : second) {
+            assertThat(index.add(txid)).isFalse();
+        }
+        assertThat(index.hitCount()).isEqualTo(2 * GENERATION_SIZE);
+    }
+
+    @Test
+    void txidsAreForgottenAfterTwoGenerations() {
+        var first = addAll(GENERATION_SIZE);
+        var second = addAll(GENERATION_SIZE);
+        // rotates again, wiping the first generation
+        var third = addAll(1);
+
+        assertThat(index.add(first.getFirst())).isTrue();
+        assertThat(index.add(second.getFirst())).isFalse();
+        assertThat(index.add(third.getFirst())).isFalse();
+    }
+
+    @Test
+    void txidWhoseFirstWordIsZeroIsRemembered() {
+        // a zero first word would read as an empty slot if it were not remapped
+        var txid = new TxId(0, random.nextLong(), random.nextLong(), random.nextLong());
+
+        assertThat(index.add(txid)).isTrue();
+        assertThat(index.add(txid)).isFalse();
+        addAll(GENERATION_SIZE);
+        assertThat(index.add(txid)).isFalse();
+    }
+
+    @Test
+    void clearForgetsEveryTxidButKeepsTheCounters() {
+        var txids = addAll(2 * GENERATION_SIZE);
+        index.add(txids.getFirst());
+
+        index.clear();
+
+        for (var txid : txids) {
+            assertThat(index.add(txid)).isTrue();
+        }
+        assertThat(index.add(txids.getFirst())).isFalse();
+        assertThat(index.hitCount()).isEqualTo(2);
+        assertThat(index.missCount()).isEqualTo(4 * GENERATION_SIZE);
+    }
+
+    @Test
+    void generationSizeMustFitTheTables() {
+        assertThatThrownBy(() -> new TxidDedupIndex(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TxidDedupIndex(TxidDedupIndex.MAX_GENERATION_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<TxId> addAll(int count) {
+        var txids = new ArrayList<TxId>(count);
+        for (int i = 0; i < count; i++) {
+            var txid = randomTxid();
+            assertThat(index.add(txid)).isTrue();
+            txids.add(txid);
+        }
+        return txids;
+    }
+
+    private TxId randomTxid() {
+        return new TxId(random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong());
+    }
+}
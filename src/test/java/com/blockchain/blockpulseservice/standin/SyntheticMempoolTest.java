@@ -0,0 +1,40 @@
+package com.blockchain.blockpulseservice.standin;
+
+import com.blockchain.blockpulseservice.fixture.RecordedFrames;
+import com.blockchain.blockpulseservice.mapper.MempoolTransactionsDecoder;
+import com.blockchain.blockpulseservice.service.mempool.MempoolMirror;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticMempoolTest {
+    private final MempoolTransactionsDecoder decoder = new MempoolTransactionsDecoder(RecordedFrames.OBJECT_MAPPER);
+
+    @ParameterizedTest
+    @EnumSource(Scenario.class)
+    void mirrorFedWithTheFramesTracksTheStandInMempool(Scenario scenario) throws IOException {
+        // frequent blocks and replacements, and a small mempool so most frames also evict
+        var settings = StandInSettings.parse(new String[]{"--rate=3000", "--frames-per-second=1", "--block-interval-sec=3",
+                "--max-mempool-size=8000", "--replace-ratio=0.2", "--surge-every-sec=20", "--surge-duration-sec=5",
+                "--scenario=" + scenario.name()});
+        var mempool = new SyntheticMempool(settings, 0);
+        var mirror = new MempoolMirror(new SimpleMeterRegistry());
+        var frameDecoder = decoder.newFrameDecoder(mirror);
+
+        // one frame per second, so the stand-in publishes its mempool info after every frame
+        for (long nowMillis = 0; nowMillis < 120_000; nowMillis += 1_000) {
+            frameDecoder.feed(mempool.nextFrame(nowMillis));
+            frameDecoder.endOfFrame();
+
+            var mempoolInfo = RecordedFrames.OBJECT_MAPPER.readTree(mempool.mempoolInfoJson());
+            assertThat(mirror.size()).as("transactions after frame at %d ms", nowMillis)
+                    .isEqualTo(mempoolInfo.get("count").asInt());
+            assertThat(mirror.totalVsize()).as("vsize after frame at %d ms", nowMillis)
+                    .isEqualTo(mempoolInfo.get("vsize").asLong());
+        }
+    }
+}